@@ -3,7 +3,9 @@ package org.lunivore.tyburn;
 import java.awt.BorderLayout;
 import java.awt.Component;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -115,6 +117,133 @@ public class ComponentFinderBehaviour extends Behaviour {
     }
     
     
+    @Test
+    public void shouldStopLookingForAnExactComponentOnceASecondMatchIsFound() {
+        JPanel root = new JPanel();
+        for (int i = 0; i < 10; i++) {
+            root.add(new JButton("twin"));
+        }
+        CountingFilter filter = new CountingFilter("twin");
+        
+        try {
+            new ComponentFinder().findExactComponent(root, filter);
+            ensureThat(anExceptionIsThrown());
+        } catch (ComponentFinderException cfe) { }
+        
+        ensureThat(filter.candidatesSeen, eq(2));
+    }
+
+    @Test
+    public void shouldIterateOverMatchingComponentsOnlyAsFarAsAsked() {
+        JPanel root = new JPanel();
+        JPanel nested = new JPanel();
+        JButton first = new JButton("twin");
+        nested.add(first);
+        root.add(nested);
+        root.add(new JButton("twin"));
+        root.add(new JButton("twin"));
+        CountingFilter filter = new CountingFilter("twin");
+        
+        Iterator<Component> matches = new ComponentFinder().iterateComponents(root, filter);
+        
+        ensureThat(matches.next(), eq((Component)first));
+        ensureThat(filter.candidatesSeen, eq(3));
+        ensureThat(matches.hasNext());
+    }
+
+    @Test
+    public void shouldFindComponentsInDeeplyNestedLayouts() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JPanel parent = root;
+        for (int i = 0; i < 500; i++) {
+            JPanel child = new JPanel();
+            parent.add(child);
+            parent = child;
+        }
+        JButton deepest = new JButton("deepest");
+        parent.add(deepest);
+        
+        Component found = new ComponentFinder().findExactComponent(root, new CountingFilter("deepest"));
+        
+        ensureThat(found, eq((Component)deepest));
+    }
+    
+    @Test
+    public void shouldFindManyExactComponentsInOneSearch() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JPanel form = new JPanel();
+        JButton okButton = new JButton("ok");
+        okButton.setName("ok.button");
+        JButton cancelButton = new JButton("cancel");
+        cancelButton.setName("cancel.button");
+        form.add(okButton);
+        form.add(cancelButton);
+        root.add(form);
+        
+        NamedComponentFilter okFilter = new NamedComponentFilter("ok.button");
+        CountingFilter cancelFilter = new CountingFilter("cancel");
+        
+        Map<ComponentFilter, Component> found = new ComponentFinder().findExactComponents(
+                root, Arrays.<ComponentFilter>asList(okFilter, cancelFilter));
+        
+        ensureThat(found.get(okFilter), eq((Component)okButton));
+        ensureThat(found.get(cancelFilter), eq((Component)cancelButton));
+        ensureThat(cancelFilter.candidatesSeen, eq(3));
+    }
+    
+    @Test
+    public void shouldTellMeWhichFilterWasNotMatchedExactlyWhenFindingMany() {
+        JPanel root = new JPanel();
+        JButton okButton = new JButton("ok");
+        okButton.setName("ok.button");
+        root.add(okButton);
+        
+        try {
+            new ComponentFinder().findExactComponents(root, Arrays.<ComponentFilter>asList(
+                    new NamedComponentFilter("ok.button"), new NamedComponentFilter("missing.button")));
+            ensureThat(anExceptionIsThrown());
+        } catch (ComponentFinderException cfe) {
+            ensureThat(cfe.getMessage(), contains("missing.button"));
+        }
+    }
+    
+    @Test
+    public void shouldCarryOnWithASearchWhenAFilterSearchesWithTheSameFinder() {
+        final ComponentFinder finder = new ComponentFinder();
+        JPanel root = new JPanel();
+        JPanel firstForm = new JPanel();
+        JPanel emptyForm = new JPanel();
+        JPanel secondForm = new JPanel();
+        firstForm.add(new JButton("ok"));
+        secondForm.add(new JButton("ok"));
+        root.add(firstForm);
+        root.add(emptyForm);
+        root.add(secondForm);
+        
+        Component[] forms = finder.findComponents(root, new ComponentFilter() {
+            public boolean matches(Component candidate) {
+                return candidate instanceof JPanel
+                    && finder.findComponents((JPanel) candidate, new CountingFilter("ok")).length > 0;
+            }
+        });
+        
+        ensureThat(Arrays.asList(forms), eq(Arrays.<Component>asList(firstForm, secondForm)));
+    }
+    
+    private static class CountingFilter implements ComponentFilter {
+        private final String text;
+        private int candidatesSeen;
+
+        public CountingFilter(String text) {
+            this.text = text;
+        }
+
+        public boolean matches(Component candidate) {
+            candidatesSeen++;
+            return candidate instanceof JButton && ((JButton)candidate).getText().equals(text);
+        }
+    }
+    
     private boolean anExceptionIsThrown() {
         return false;
     }
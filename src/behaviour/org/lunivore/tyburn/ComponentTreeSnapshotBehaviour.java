@@ -0,0 +1,145 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import org.junit.Test;
+
+public class ComponentTreeSnapshotBehaviour extends Behaviour {
+
+    @Test
+    public void shouldRecordTheShapeOfTheTree() {
+        JPanel root = new JPanel();
+        JPanel left = new JPanel();
+        JPanel right = new JPanel();
+        left.add(new JButton("one"));
+        left.add(new JButton("two"));
+        right.add(new JLabel("three"));
+        root.add(left);
+        root.add(right);
+
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+
+        ensureThat(snapshot.size(), eq(6));
+        ensureThat(snapshot.getParent(0), eq(-1));
+        ensureThat(Arrays.equals(snapshot.getChildren(0), new int[] {1, 4}));
+        ensureThat(Arrays.equals(snapshot.getChildren(1), new int[] {2, 3}));
+        ensureThat(snapshot.getParent(5), eq(4));
+        ensureThat(snapshot.isDescendant(3, 1));
+        ensureThat(!snapshot.isDescendant(5, 1));
+        ensureThat(snapshot.getComponent(4), eq((Component)right));
+    }
+
+    @Test
+    public void shouldSnapshotTreesTooDeepToRecurseThrough() throws ComponentFinderException {
+        Container root = new Container();
+        Container parent = root;
+        for (int i = 0; i < 10000; i++) {
+            Container child = new Container();
+            parent.add(child);
+            parent = child;
+        }
+        JButton deepest = new JButton("deepest");
+        deepest.setName("deepest");
+        parent.add(deepest);
+
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+
+        ensureThat(snapshot.size(), eq(10002));
+        ensureThat(snapshot.getParent(10001), eq(10000));
+        ensureThat(snapshot.isDescendant(10001, 0));
+        ensureThat(snapshot.findExactComponent(new NamedComponentFilter("deepest")), eq((Component)deepest));
+    }
+
+    @Test
+    public void shouldRecordWhatEachComponentLookedLike() {
+        JPanel root = new JPanel();
+        JButton button = new JButton("OK");
+        button.setName("ok.button");
+        button.setBounds(10, 20, 30, 40);
+        button.setEnabled(false);
+        root.add(button);
+
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+
+        ensureThat(snapshot.getName(1), eq("ok.button"));
+        ensureThat(snapshot.getText(1), eq("OK"));
+        ensureThat(snapshot.getComponentClass(1), eq((Object)JButton.class));
+        ensureThat(snapshot.getBounds(1), eq(new Rectangle(10, 20, 30, 40)));
+        ensureThat(snapshot.isVisible(1));
+        ensureThat(!snapshot.isEnabled(1));
+    }
+
+    @Test
+    public void shouldNotSeeChangesMadeAfterItWasTaken() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JButton button = new JButton();
+        button.setName("a.button");
+        root.add(button);
+
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+        button.setName("renamed");
+        root.add(new JButton());
+
+        ensureThat(snapshot.size(), eq(2));
+        ensureThat(snapshot.findExactComponent(new NamedComponentFilter("a.button")), eq((Component)button));
+    }
+
+    @Test
+    public void shouldFindComponentsWithTheSameContractAsTheComponentFinder() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        root.setName("twin");
+        JButton okButton = new JButton("OK");
+        okButton.setName("ok.button");
+        root.add(okButton);
+        root.add(aButtonNamed("twin"));
+        root.add(aButtonNamed("twin"));
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+
+        ensureThat(snapshot.findComponents(new NamedComponentFilter("twin")).length, eq(2));
+        ensureThat(snapshot.findExactComponent(new SnapshotFilter() {
+            public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+                return "OK".equals(snapshot.getText(node));
+            }
+        }), eq((Component)okButton));
+
+        try {
+            snapshot.findExactComponent(new NamedComponentFilter("twin"));
+            ensureThat(anExceptionIsThrown());
+        } catch (ComponentFinderException cfe) { }
+    }
+
+    @Test
+    public void shouldFindManyComponentsAtOnce() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JButton okButton = aButtonNamed("ok.button");
+        JButton cancelButton = aButtonNamed("cancel.button");
+        root.add(okButton);
+        root.add(cancelButton);
+        NamedComponentFilter okFilter = new NamedComponentFilter("ok.button");
+        NamedComponentFilter cancelFilter = new NamedComponentFilter("cancel.button");
+
+        Map<SnapshotFilter, Component> found = ComponentTreeSnapshot.of(root).findExactComponents(
+                Arrays.asList(okFilter, cancelFilter));
+
+        ensureThat(found.get(okFilter), eq((Component)okButton));
+        ensureThat(found.get(cancelFilter), eq((Component)cancelButton));
+    }
+
+    private JButton aButtonNamed(String name) {
+        JButton button = new JButton();
+        button.setName(name);
+        return button;
+    }
+
+    private boolean anExceptionIsThrown() {
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JPanel;
+
+import org.junit.Test;
+
+public class IndexedComponentFinderBehaviour extends Behaviour {
+
+    @Test
+    public void shouldFindNamedComponentsAnywhereInTheTree() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JPanel middle = new JPanel();
+        JButton button = aButtonNamed("a.button");
+        middle.add(button);
+        root.add(middle);
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+
+        ensureThat(finder.findExactComponent(root, new NamedComponentFilter("a.button")), eq((Component)button));
+    }
+
+    @Test
+    public void shouldFindComponentsAddedAfterTheTreeWasIndexed() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JPanel middle = new JPanel();
+        root.add(middle);
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("a.button")).length, eq(0));
+
+        JPanel lateArrival = new JPanel();
+        JButton button = aButtonNamed("a.button");
+        lateArrival.add(button);
+        middle.add(lateArrival);
+
+        ensureThat(finder.findExactComponent(root, new NamedComponentFilter("a.button")), eq((Component)button));
+    }
+
+    @Test
+    public void shouldForgetComponentsRemovedFromTheTree() {
+        JPanel root = new JPanel();
+        JPanel middle = new JPanel();
+        middle.add(aButtonNamed("a.button"));
+        root.add(middle);
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("a.button")).length, eq(1));
+
+        root.remove(middle);
+
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("a.button")).length, eq(0));
+    }
+
+    @Test
+    public void shouldLetGoOfTheIndexWhenItsContainerIsDisposed() {
+        JPanel root = new JPanel();
+        root.add(aButtonNamed("a.button"));
+        root.addNotify();
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("a.button")).length, eq(1));
+        ensureThat(finder.isIndexing(root), eq(true));
+
+        root.removeNotify();
+
+        ensureThat(finder.isIndexing(root), eq(false));
+    }
+
+    @Test
+    public void shouldFollowComponentsWhichAreRenamed() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JButton button = aButtonNamed("old.name");
+        root.add(button);
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("old.name")).length, eq(1));
+
+        button.setName("new.name");
+
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("old.name")).length, eq(0));
+        ensureThat(finder.findExactComponent(root, new NamedComponentFilter("new.name")), eq((Component)button));
+    }
+
+    @Test
+    public void shouldOnlyFindComponentsBeneathTheGivenContainer() {
+        JPanel root = new JPanel();
+        JPanel left = new JPanel();
+        JPanel right = new JPanel();
+        JButton leftTwin = aButtonNamed("twin");
+        left.add(leftTwin);
+        right.add(aButtonNamed("twin"));
+        root.add(left);
+        root.add(right);
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+
+        ensureThat(finder.findComponents(root, new NamedComponentFilter("twin")).length, eq(2));
+        List<Component> inLeft = Arrays.asList(finder.findComponents(left, new NamedComponentFilter("twin")));
+        ensureThat(inLeft.size(), eq(1));
+        ensureThat(inLeft.contains(leftTwin));
+    }
+
+    @Test
+    public void shouldThrowTheSameExceptionsAsAnUnindexedFinder() {
+        JPanel root = new JPanel();
+        root.add(aButtonNamed("twin"));
+        root.add(aButtonNamed("twin"));
+
+        IndexedComponentFinder finder = new IndexedComponentFinder();
+
+        try {
+            finder.findExactComponent(root, new NamedComponentFilter("twin"));
+            ensureThat(anExceptionIsThrown());
+        } catch (ComponentFinderException cfe) { }
+
+        try {
+            finder.findExactComponent(root, new NamedComponentFilter("nobody"));
+            ensureThat(anExceptionIsThrown());
+        } catch (ComponentFinderException cfe) { }
+    }
+
+    @Test
+    public void shouldFindManyNamedComponentsFromTheIndex() throws ComponentFinderException {
+        JPanel root = new JPanel();
+        JButton okButton = aButtonNamed("ok.button");
+        JButton cancelButton = aButtonNamed("cancel.button");
+        root.add(okButton);
+        root.add(cancelButton);
+        NamedComponentFilter okFilter = new NamedComponentFilter("ok.button");
+        NamedComponentFilter cancelFilter = new NamedComponentFilter("cancel.button");
+
+        Map<ComponentFilter, Component> found = new IndexedComponentFinder().findExactComponents(
+                root, Arrays.asList(okFilter, cancelFilter));
+
+        ensureThat(found.get(okFilter), eq((Component)okButton));
+        ensureThat(found.get(cancelFilter), eq((Component)cancelButton));
+    }
+
+    private JButton aButtonNamed(String name) {
+        JButton button = new JButton();
+        button.setName(name);
+        return button;
+    }
+
+    private boolean anExceptionIsThrown() {
+        return false;
+    }
+}
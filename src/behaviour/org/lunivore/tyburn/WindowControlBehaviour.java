@@ -1,9 +1,11 @@
 package org.lunivore.tyburn;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.argThat;
 
 import java.awt.Color;
@@ -11,6 +13,7 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
@@ -18,6 +21,7 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
+import java.util.Map;
 
 import javax.swing.Action;
 import javax.swing.JButton;
@@ -33,8 +37,12 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.Test;
+import org.lunivore.tyburn.actors.IdleTracker;
 import org.lunivore.tyburn.actors.Idler;
+import org.lunivore.tyburn.capture.ImageLease;
+import org.lunivore.tyburn.pacing.FixedDelayPacing;
 import org.lunivore.tyburn.threaded.TimeoutException;
+import org.lunivore.tyburn.threaded.VirtualTimeScheduler;
 
 public class WindowControlBehaviour extends Behaviour {
 
@@ -159,6 +167,64 @@ public class WindowControlBehaviour extends Behaviour {
         ensureThat(comboBox.getEditor().getItem().toString(), contains("cow"));
     }
 
+    @Test
+    public void shouldEnterLongTextInBatches() throws Exception {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME);
+        AFrame frame = new AFrame();
+        
+        JTextComponent textArea = new JTextArea();
+        textArea.setName("a.textarea");
+        frame.getContentPane().add(textArea);
+        frame.pack();
+        frame.setVisible(true);
+        
+        StringBuffer address = new StringBuffer();
+        for (int i = 0; i < 20; i++) {
+            address.append("221b Baker Street, ");
+        }
+        
+        // When
+        try {
+            control.enterTextInBatches("a.textarea", address.toString());
+        } finally {
+            control.closeWindow();
+        }
+        
+        // Then
+        ensureThat(textArea.getText(), eq(address.toString()));
+    }
+
+    @Test
+    public void shouldEnterTextInBatchesIntoAnEditableComboBox() throws Exception {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME);
+
+        AFrame frame = new AFrame();
+        JComboBox comboBox = new JComboBox(new Object[] {"horse", "cow", "sheep"});
+        comboBox.setName("a.combobox");
+        comboBox.setEditable(true);
+        comboBox.setSelectedItem("horse");
+        frame.getContentPane().setLayout(new FlowLayout());
+        frame.getContentPane().add(comboBox);
+        frame.pack();
+        frame.setVisible(true);
+        
+        // When
+        try {
+            control.enterTextInBatches("a.combobox", "cow");
+        } finally {
+            control.closeWindow();
+        }
+        
+        // Then
+        ensureThat(comboBox.getEditor().getItem().toString(), contains("cow"));
+    }
+
     @Test
     public void shouldFindComponent() throws ComponentFinderException, TimeoutException  {
         checkForHeadless();
@@ -186,6 +252,37 @@ public class WindowControlBehaviour extends Behaviour {
         ensureThat(found, eq((Component)panel));
     }
 
+    @Test
+    public void shouldFindManyComponentsAtOnce() throws ComponentFinderException, TimeoutException  {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME);
+
+        AFrame frame = new AFrame();
+        
+        JTextField nameField = new JTextField();
+        nameField.setName("a.name");
+        JTextField addressField = new JTextField();
+        addressField.setName("an.address");
+        
+        frame.getContentPane().add(nameField);
+        frame.getContentPane().add(addressField);
+        frame.setVisible(true);
+        Map<String, Component> found;
+        
+        // When
+        try {
+            found = control.findComponents("a.name", "an.address");
+        } finally {
+            control.closeWindow();
+        }
+        
+        // Then
+        ensureThat(found.get("a.name"), eq((Component)nameField));
+        ensureThat(found.get("an.address"), eq((Component)addressField));
+    }
+
     @Test
     public void shouldCloseWindows() throws TimeoutException {
         checkForHeadless();
@@ -272,6 +369,63 @@ public class WindowControlBehaviour extends Behaviour {
 		
     }
     
+    @SuppressWarnings("serial")
+	@Test
+    public void shouldLeaseAnImageOfAComponentFromAPool() throws Exception {
+    	WindowControl control = new WindowControl(AFrame.FRAME_NAME);
+    	JPanel myPanel = new JPanel() {
+    		@Override
+    		public void paint(Graphics g) {
+    			super.paint(g);
+    			g.setColor(Color.CYAN);
+    			g.fillRect(20, 20, 40, 40);
+    		}
+    	};
+    	myPanel.setName("My panel");
+    	myPanel.setPreferredSize(new Dimension(100, 120));
+    	myPanel.setBackground(Color.WHITE);
+		new AFrame(myPanel);
+    	
+		ImageLease lease = control.leaseImageOf("My panel");
+		BufferedImage image = lease.getImage();
+		assertThat(image.getType(), equalTo(BufferedImage.TYPE_INT_RGB));
+		assertThat(image.getRGB(30, 30), equalTo(Color.CYAN.getRGB()));
+		lease.release();
+		
+		ImageLease nextLease = control.leaseImageOf("My panel");
+		assertThat(nextLease.getImage(), sameInstance(image));
+		nextLease.release();
+		control.closeWindow();
+    }
+    
+	@Test
+    public void shouldGrabImagesOfManyComponentsAtOnce() throws Exception {
+    	WindowControl control = new WindowControl(AFrame.FRAME_NAME);
+    	JPanel redPanel = new JPanel();
+    	redPanel.setName("Red panel");
+    	redPanel.setPreferredSize(new Dimension(40, 30));
+    	redPanel.setBackground(Color.RED);
+    	JPanel bluePanel = new JPanel();
+    	bluePanel.setName("Blue panel");
+    	bluePanel.setPreferredSize(new Dimension(50, 20));
+    	bluePanel.setBackground(Color.BLUE);
+		JPanel contentPanel = new JPanel();
+		contentPanel.add(redPanel);
+		contentPanel.add(bluePanel);
+		new AFrame(contentPanel);
+    	
+		Map<String, BufferedImage> images = control.grabImagesOf("Red panel", "Blue panel");
+		assertThat(images.get("Red panel").getWidth(), equalTo(40));
+		assertThat(images.get("Red panel").getRGB(39, 29), equalTo(Color.RED.getRGB()));
+		assertThat(images.get("Blue panel").getHeight(), equalTo(20));
+		assertThat(images.get("Blue panel").getRGB(0, 0), equalTo(Color.BLUE.getRGB()));
+		
+		BufferedImage region = control.grabImageOf("Red panel", new Rectangle(10, 10, 5, 5));
+		assertThat(region.getWidth(), equalTo(5));
+		assertThat(region.getRGB(4, 4), equalTo(Color.RED.getRGB()));
+		control.closeWindow();
+    }
+    
     @Test
     public void shouldSimulateKeyPressesWhenKeyHasNoChar() throws TimeoutException {
         checkForHeadless();
@@ -340,6 +494,120 @@ public class WindowControlBehaviour extends Behaviour {
     	verify(speed).holdBack();
     }
     
+    @Test
+    public void shouldDispatchEventsDirectlyWhenAsked() throws Exception {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME, new ComponentFinder(), 
+                Speed.FLAT_OUT, 1000, DispatchMode.DISPATCH_DIRECTLY);
+        JPanel panel = new JPanel(new FlowLayout());
+        
+        JButton button = new JButton("Press Me!");
+        button.setName("a.button");
+        ActionListener actionListener = mock(ActionListener.class);
+        button.addActionListener(actionListener);
+        
+        JTextField textField = new JTextField(10);
+        textField.setName("a.textfield");
+        
+        panel.add(button);
+        panel.add(textField);
+        new AFrame(panel);
+        
+        // When
+        try {
+            control.clickButton("a.button");
+            control.enterText("a.textfield", "Text1");
+        } finally {
+            control.closeWindow();
+        }
+        
+        // Then
+        verify(actionListener).actionPerformed((ActionEvent) argThat(isA(ActionEvent.class)));
+        ensureThat(textField.getText(), eq("Text1"));
+    }
+    
+    @Test
+    public void shouldUseTheRobotForNativeInputWhenAsked() throws Exception {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME, new ComponentFinder(), 
+                Speed.FLAT_OUT, 1000, DispatchMode.USE_ROBOT);
+        JPanel panel = new JPanel(new FlowLayout());
+        
+        JButton button = new JButton("Press Me!");
+        button.setName("a.button");
+        ActionListener actionListener = mock(ActionListener.class);
+        button.addActionListener(actionListener);
+        
+        JTextField textField = new JTextField(10);
+        textField.setName("a.textfield");
+        
+        panel.add(button);
+        panel.add(textField);
+        new AFrame(panel);
+        
+        // When
+        try {
+            control.clickButton("a.button");
+            control.enterText("a.textfield", "Text1!");
+        } finally {
+            control.closeWindow();
+        }
+        
+        // Then
+        verify(actionListener).actionPerformed((ActionEvent) argThat(isA(ActionEvent.class)));
+        ensureThat(textField.getText(), eq("Text1!"));
+    }
+    
+    @Test
+    public void shouldNotGoBackToTheEventThreadIfNothingHasHappenedSinceTheLastAction() throws Exception {
+        checkForHeadless();
+        
+        // Given
+        WindowControl control = new WindowControl(AFrame.FRAME_NAME, new ComponentFinder(), 
+                new Speed(new FixedDelayPacing(0), 0, true), 1000);
+        JButton button = new JButton("Press Me!");
+        button.setName("a.button");
+        JPanel panel = new JPanel(new FlowLayout());
+        panel.add(button);
+        new AFrame(panel);
+        
+        // When
+        long dispatched;
+        long dispatchedAfterIdle;
+        try {
+            control.clickButton("a.button");
+            dispatched = IdleTracker.install().getDispatched();
+            control.waitForIdle();
+            dispatchedAfterIdle = IdleTracker.install().getDispatched();
+            control.closeWindow();
+        } finally {
+            control.close();
+        }
+        
+        // Then
+        ensureThat(dispatchedAfterIdle, eq(dispatched));
+    }
+    
+    @Test
+    public void shouldWaitForTheWindowInTheSpeedsOwnTime() {
+        // No window is ever opened, so this needs no display.
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        Speed speed = new Speed(new FixedDelayPacing(0, scheduler), 0, false, scheduler, scheduler);
+        WindowControl control = new WindowControl("a.window.which.never.opens", new ComponentFinder(), 
+                speed, WindowControl.DEFAULT_WINDOW_TIMEOUT);
+        
+        try {
+            control.getOpenWindow();
+            fail("Expected the window never to open");
+        } catch (TimeoutException e) {
+            ensureThat(scheduler.getTimeInMillis(), eq(WindowControl.DEFAULT_WINDOW_TIMEOUT));
+        }
+    }
+    
     @Test
     public void shouldTellMeIfAWindowHasBeenOpened() throws Exception {
     	checkForHeadless();
@@ -0,0 +1,121 @@
+package org.lunivore.tyburn.actors;
+
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class IdlerBehaviour extends Behaviour {
+
+    @After
+    public void uninstallTheTracker() {
+        IdleTracker.uninstall();
+    }
+
+    @Test
+    public void shouldWaitForEventsWhichThoseAlreadyPostedPostInTurn() {
+        final AtomicInteger links = new AtomicInteger();
+        Idler idler = new Idler();
+        
+        EventQueue.invokeLater(new Runnable() {
+            public void run() {
+                if (links.incrementAndGet() < 5) {
+                    EventQueue.invokeLater(this);
+                }
+            }
+        });
+        idler.waitForIdle();
+        
+        ensureThat(links.get(), eq(5));
+        ensureThat(idler.getIdles(), eq(1L));
+        ensureThat(idler.getIdlesCutShort(), eq(0L));
+    }
+
+    @Test
+    public void shouldSkipTheTripIfNothingHasHappenedSinceTheLastIdle() {
+        Idler idler = new Idler(Idler.DEFAULT_MAX_ROUND_TRIPS, true);
+        idler.waitForIdle();
+        long skipped = idler.getIdlesSkipped();
+        idler.waitForIdle();
+        
+        ensureThat(idler.getRoundTripsForLastIdle(), eq(0));
+        ensureThat(idler.getIdles(), eq(2L));
+        ensureThat(idler.getIdlesSkipped(), eq(skipped + 1));
+    }
+
+    @Test
+    public void shouldShareWhatItKnowsAboutIdlingWithOtherIdlers() {
+        new Idler(Idler.DEFAULT_MAX_ROUND_TRIPS, true).waitForIdle();
+        Idler idler = new Idler(Idler.DEFAULT_MAX_ROUND_TRIPS, true);
+        idler.waitForIdle();
+        
+        ensureThat(idler.getIdlesSkipped(), eq(1L));
+    }
+
+    @Test
+    public void shouldNotSkipTheTripIfAnEventHasBeenPostedSinceTheLastIdle() {
+        final AtomicBoolean handled = new AtomicBoolean();
+        Idler idler = new Idler(Idler.DEFAULT_MAX_ROUND_TRIPS, true);
+        idler.waitForIdle();
+        long skipped = idler.getIdlesSkipped();
+        
+        EventQueue.invokeLater(new Runnable() {
+            public void run() {
+                handled.set(true);
+            }
+        });
+        idler.waitForIdle();
+        
+        ensureThat(handled.get());
+        ensureThat(idler.getIdlesSkipped(), eq(skipped));
+    }
+
+    @Test
+    public void shouldLeaveTheEventQueueAloneUnlessAskedToCoalesceIdles() {
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        Idler idler = new Idler();
+        idler.waitForIdle();
+        idler.waitForIdle();
+        
+        ensureThat(Toolkit.getDefaultToolkit().getSystemEventQueue() == queue);
+        ensureThat(idler.getIdlesSkipped(), eq(0L));
+    }
+
+    @Test
+    public void shouldPutTheEventQueueBackOnceTheTrackerIsUninstalled() {
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        Idler idler = new Idler(Idler.DEFAULT_MAX_ROUND_TRIPS, true);
+        idler.waitForIdle();
+        IdleTracker.uninstall();
+        idler.waitForIdle();
+        
+        ensureThat(Toolkit.getDefaultToolkit().getSystemEventQueue() == queue);
+        ensureThat(idler.getRoundTripsForLastIdle(), eq(1));
+    }
+
+    @Test
+    public void shouldGiveUpOnApplicationsWhichNeverStopPosting() {
+        final AtomicBoolean animating = new AtomicBoolean(true);
+        Idler idler = new Idler(10);
+        
+        EventQueue.invokeLater(new Runnable() {
+            public void run() {
+                if (animating.get()) {
+                    EventQueue.invokeLater(this);
+                }
+            }
+        });
+        try {
+            idler.waitForIdle();
+        } finally {
+            animating.set(false);
+        }
+        
+        ensureThat(idler.getRoundTripsForLastIdle(), eq(10));
+        ensureThat(idler.getIdlesCutShort(), eq(1L));
+    }
+}
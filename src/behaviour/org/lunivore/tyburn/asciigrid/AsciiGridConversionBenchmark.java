@@ -0,0 +1,55 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Times sequential and parallel conversion of square grids of increasing size,
+ * to show where converting in parallel starts to pay off. Pass the largest
+ * number of cells along one side as an argument if the default doesn't suit.
+ */
+public class AsciiGridConversionBenchmark {
+
+	private static final int WARM_UPS = 20;
+	private static final int RUNS = 50;
+
+	public static void main(String[] args) {
+		int largestSide = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+		ImageToAsciiGridConverter sequential = new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, Integer.MAX_VALUE);
+		ImageToAsciiGridConverter parallel = new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, 0);
+
+		System.out.println("cells\tsequential us\tparallel us");
+		for (int side = 50; side <= largestSide; side *= 2) {
+			BufferedImage image = randomImage(side);
+			long sequentialTime = timeToConvert(sequential, image);
+			long parallelTime = timeToConvert(parallel, image);
+			System.out.println((side * side) + "\t" + sequentialTime + "\t" + parallelTime
+					+ (parallelTime < sequentialTime ? "\tparallel wins" : ""));
+		}
+		System.out.println("Default parallel threshold: " + ImageToAsciiGridConverter.DEFAULT_PARALLEL_THRESHOLD + " cells");
+	}
+
+	private static BufferedImage randomImage(int side) {
+		BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(side);
+		for (int y = 0; y < side; y++) {
+			for (int x = 0; x < side; x++) {
+				image.setRGB(x, y, random.nextBoolean() ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+			}
+		}
+		return image;
+	}
+
+	private static long timeToConvert(ImageToAsciiGridConverter converter, BufferedImage image) {
+		for (int i = 0; i < WARM_UPS; i++) {
+			converter.convert(image, 1);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			converter.convert(image, 1);
+		}
+		return (System.nanoTime() - start) / RUNS / 1000;
+	}
+}
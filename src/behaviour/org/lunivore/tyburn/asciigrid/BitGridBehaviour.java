@@ -0,0 +1,73 @@
+package org.lunivore.tyburn.asciigrid;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class BitGridBehaviour {
+	private static final String NL = System.getProperty("line.separator");
+
+	@Test
+	public void shouldConvertAnImageToTheSameGridAsTheAsciiConverter() {
+		// Given
+		BufferedImage image = new BufferedImage(700, 30, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 700, 30);
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(0, 0, 10, 10);
+		graphics.fillRect(630, 10, 20, 10);
+		graphics.fillRect(690, 20, 10, 10);
+		graphics.dispose();
+
+		// When
+		BitGrid grid = new ImageToBitGridConverter(ColorScheme.BLACK_ON_WHITE, 'X').convert(image, 10);
+
+		// Then
+		String ascii = new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE).convert(image, 10);
+		assertThat(grid.toAscii('X', '.'), equalTo(ascii));
+		assertThat(grid, equalTo(BitGrid.fromAscii(ascii, 'X')));
+		assertThat(grid.populationCount(), equalTo(4));
+	}
+
+	@Test
+	public void shouldReadAsciiWithAnyLineSeparator() {
+		BitGrid grid = BitGrid.fromAscii(".X.\r\n..X\nXXX", 'X');
+
+		assertThat(grid.getNoOfRows(), equalTo(3));
+		assertThat(grid.getNoOfCols(), equalTo(3));
+		assertThat(grid.toString(), equalTo(
+				".X." + NL +
+				"..X" + NL +
+				"XXX"));
+	}
+
+	@Test
+	public void shouldFindTheCellsWhichDiffer() {
+		BitGrid glider = BitGrid.fromAscii(".X.\n..X\nXXX", 'X');
+		BitGrid nextGeneration = BitGrid.fromAscii("...\nX.X\n.XX", 'X');
+
+		BitGrid diff = glider.xor(nextGeneration);
+
+		assertThat(diff.toString(), equalTo(
+				".X." + NL +
+				"X.." + NL +
+				"X.."));
+		assertThat(diff.populationCount(), equalTo(3));
+		assertThat(glider.equals(nextGeneration), equalTo(false));
+	}
+
+	@Test
+	public void shouldCountNeighboursWithoutWrappingAtTheEdges() {
+		BitGrid glider = BitGrid.fromAscii(".X.\n..X\nXXX", 'X');
+
+		assertThat(glider.countNeighboursOf(1, 1), equalTo(5));
+		assertThat(glider.countNeighboursOf(0, 0), equalTo(1));
+		assertThat(glider.countNeighboursOf(2, 2), equalTo(2));
+	}
+}
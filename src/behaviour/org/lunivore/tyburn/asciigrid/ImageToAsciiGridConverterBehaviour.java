@@ -6,6 +6,9 @@ import static org.junit.Assert.assertThat;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -54,4 +57,155 @@ public class ImageToAsciiGridConverterBehaviour {
 				"......XX.."
 				));
 	}
+
+	@Test
+	public void shouldReadTheSameColoursWhateverTheTypeOfImage() {
+		int[] types = new int[] {
+				BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_INT_ARGB,
+				BufferedImage.TYPE_3BYTE_BGR,
+				BufferedImage.TYPE_INT_BGR,
+				BufferedImage.TYPE_4BYTE_ABGR};
+
+		for (int type : types) {
+			BufferedImage image = new BufferedImage(50, 30, type);
+			paintPrimaryColoursOn(image);
+
+			assertThat(new ImageToAsciiGridConverter(PRIMARY_COLOURS).convert(image, 10), equalTo(
+					"RRGGB" + NL +
+					"RRGGB" + NL +
+					"XXX.B"
+					));
+		}
+	}
+
+	@Test
+	public void shouldIgnoreWhateverIsInTheAlphaByteOfAnImageWithoutAlpha() {
+		BufferedImage image = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+		Arrays.fill(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0x12FF0000);
+
+		assertThat(new ImageToAsciiGridConverter(PRIMARY_COLOURS).convert(image, 10), equalTo("RR"));
+	}
+
+	@Test
+	public void shouldReadOnlyThePartOfTheImageWhichIsASubimage() {
+		int[] types = new int[] {
+				BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_INT_ARGB,
+				BufferedImage.TYPE_3BYTE_BGR};
+
+		for (int type : types) {
+			BufferedImage image = new BufferedImage(50, 30, type);
+			paintPrimaryColoursOn(image);
+
+			BufferedImage subimage = image.getSubimage(10, 10, 30, 20);
+
+			assertThat(new ImageToAsciiGridConverter(PRIMARY_COLOURS).convert(subimage, 10), equalTo(
+					"RGG" + NL +
+					"XX."
+					));
+		}
+	}
+
+	@Test
+	public void shouldProduceNothingIfTheImageIsSmallerThanACell() {
+		BufferedImage image = new BufferedImage(5, 5, BufferedImage.TYPE_INT_RGB);
+
+		assertThat(new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE).convert(image, 10), equalTo(""));
+	}
+
+	@Test
+	public void shouldProduceTheSameGridWhenConvertingInParallel() {
+		BufferedImage image = new BufferedImage(600, 401, BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(42);
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				image.setRGB(x, y, random.nextBoolean() ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+			}
+		}
+
+		String sequential = new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, Integer.MAX_VALUE).convert(image, 1);
+		String parallel = new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, 0).convert(image, 1);
+
+		assertThat(parallel, equalTo(sequential));
+		assertThat(parallel.endsWith(NL), equalTo(false));
+	}
+
+	@Test
+	public void shouldIgnoreAStrayLineThroughTheCentreWhenTakingTheMajority() {
+		// Given a white cell with a line through its centre, next to a black cell
+		BufferedImage image = new BufferedImage(30, 10, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 30, 10);
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(15, 0, 1, 10);
+		graphics.fillRect(20, 0, 10, 10);
+		graphics.dispose();
+
+		// Then
+		assertThat(new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE).convert(image, 10), equalTo(".XX"));
+		assertThat(new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, CellSampling.MAJORITY, 3)
+				.convert(image, 10), equalTo("..X"));
+		assertThat(new ImageToAsciiGridConverter(ColorScheme.BLACK_ON_WHITE, CellSampling.MAJORITY, ImageToAsciiGridConverter.WHOLE_CELL)
+				.convert(image, 10), equalTo("..X"));
+	}
+
+	@Test
+	public void shouldRepresentACellByItsMeanColourWhenAsked() {
+		// Given a cell which is a third black
+		BufferedImage image = new BufferedImage(9, 3, BufferedImage.TYPE_3BYTE_BGR);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 9, 3);
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(0, 0, 1, 3);
+		graphics.fillRect(3, 0, 2, 3);
+		graphics.dispose();
+
+		// Then
+		assertThat(new ImageToAsciiGridConverter(ColorScheme.NEAREST_BLACK_ON_WHITE, CellSampling.MEAN, 3)
+				.convert(image, 3), equalTo(".X."));
+	}
+
+	@Test
+	public void shouldConvertCellsWhichAreNotSquare() {
+		BufferedImage image = new BufferedImage(50, 30, BufferedImage.TYPE_INT_RGB);
+		paintPrimaryColoursOn(image);
+
+		assertThat(new ImageToAsciiGridConverter(PRIMARY_COLOURS).convert(image, 20, 10), equalTo(
+				"RG" + NL +
+				"RG" + NL +
+				"X."
+				));
+		assertThat(new ImageToAsciiGridConverter(PRIMARY_COLOURS, CellSampling.MAJORITY, 4).convert(image, 10, 15), equalTo(
+				"RRGGB" + NL +
+				"XXX.B"
+				));
+	}
+
+	private void paintPrimaryColoursOn(BufferedImage image) {
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 50, 30);
+		graphics.setColor(Color.RED);
+		graphics.fillRect(0, 0, 20, 20);
+		graphics.setColor(Color.GREEN);
+		graphics.fillRect(20, 0, 20, 20);
+		graphics.setColor(Color.BLUE);
+		graphics.fillRect(40, 0, 10, 30);
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(0, 20, 30, 10);
+		graphics.dispose();
+	}
+
+	private static final ColorScheme PRIMARY_COLOURS = new ColorScheme() {
+		public char getCharRepresentationOf(int color) {
+			if (color == Color.RED.getRGB()) { return 'R'; }
+			if (color == Color.GREEN.getRGB()) { return 'G'; }
+			if (color == Color.BLUE.getRGB()) { return 'B'; }
+			if (color == Color.BLACK.getRGB()) { return 'X'; }
+			return '.';
+		}
+	};
 }
@@ -0,0 +1,133 @@
+package org.lunivore.tyburn.asciigrid;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class IncrementalAsciiGridConverterBehaviour {
+	private static final String NL = System.getProperty("line.separator");
+
+	@Test
+	public void shouldReportEveryCellAsChangedOnTheFirstFrame() {
+		// Given
+		BufferedImage image = whiteImage(30, 20);
+		paint(image, Color.BLACK, 10, 0);
+
+		// When
+		AsciiGridFrame frame = new IncrementalAsciiGridConverter(ColorScheme.BLACK_ON_WHITE).convert(image, 10);
+
+		// Then
+		assertThat(frame.getGrid(), equalTo(
+				".X." + NL +
+				"..."));
+		assertThat(frame.getChangedCells().size(), equalTo(6));
+		assertThat(frame.getChangedCells().get(1), equalTo(new ChangedCell(0, 1, ' ', 'X')));
+	}
+
+	@Test
+	public void shouldReportOnlyTheCellsWhichChangedSinceTheLastFrame() {
+		// Given
+		BufferedImage image = whiteImage(30, 20);
+		paint(image, Color.BLACK, 10, 0);
+		IncrementalAsciiGridConverter converter = new IncrementalAsciiGridConverter(ColorScheme.BLACK_ON_WHITE);
+		converter.convert(image, 10);
+
+		// When
+		paint(image, Color.WHITE, 10, 0);
+		paint(image, Color.BLACK, 20, 10);
+		AsciiGridFrame frame = converter.convert(image, 10);
+
+		// Then
+		assertThat(frame.getGrid(), equalTo(
+				"..." + NL +
+				"..X"));
+		assertThat(frame.getChangedCells(), equalTo(Arrays.asList(
+				new ChangedCell(0, 1, 'X', '.'),
+				new ChangedCell(1, 2, '.', 'X'))));
+
+		// When nothing changes
+		frame = converter.convert(image, 10);
+
+		// Then
+		assertThat(frame.hasChanged(), equalTo(false));
+	}
+
+	@Test
+	public void shouldOnlyLookAtTheDirtyRegionsIfGiven() {
+		// Given
+		BufferedImage image = whiteImage(30, 20);
+		IncrementalAsciiGridConverter converter = new IncrementalAsciiGridConverter(ColorScheme.BLACK_ON_WHITE);
+		converter.convert(image, 10);
+
+		// When
+		paint(image, Color.BLACK, 0, 0);
+		paint(image, Color.BLACK, 20, 10);
+		AsciiGridFrame frame = converter.convert(image, 10, Collections.singletonList(new Rectangle(18, 8, 12, 12)));
+
+		// Then
+		assertThat(frame.getGrid(), equalTo(
+				"..." + NL +
+				"..X"));
+		assertThat(frame.getChangedCells(), equalTo(Arrays.asList(new ChangedCell(1, 2, '.', 'X'))));
+	}
+
+	@Test
+	public void shouldStartAgainIfTheGridChangesSize() {
+		// Given
+		IncrementalAsciiGridConverter converter = new IncrementalAsciiGridConverter(ColorScheme.BLACK_ON_WHITE);
+		converter.convert(whiteImage(30, 20), 10);
+
+		// When
+		AsciiGridFrame frame = converter.convert(whiteImage(20, 20), 10);
+
+		// Then
+		assertThat(frame.getGrid(), equalTo(
+				".." + NL +
+				".."));
+		assertThat(frame.getChangedCells().size(), equalTo(4));
+	}
+
+	@Test
+	public void shouldSampleCellsTheSameWayAsTheWholeImageConverter() {
+		// Given a converter which takes the majority of the samples in each cell
+		BufferedImage image = whiteImage(30, 10);
+		IncrementalAsciiGridConverter converter = new IncrementalAsciiGridConverter(
+				ColorScheme.BLACK_ON_WHITE, CellSampling.MAJORITY, ImageToAsciiGridConverter.WHOLE_CELL);
+		converter.convert(image, 10);
+
+		// When most of a cell goes black, but not its centre, and only that part is dirty
+		paint(image, Color.BLACK, 10, 0, 4, 10);
+		paint(image, Color.BLACK, 16, 0, 4, 10);
+		AsciiGridFrame frame = converter.convert(image, 10, Collections.singletonList(new Rectangle(10, 0, 4, 10)));
+
+		// Then
+		assertThat(frame.getGrid(), equalTo(new ImageToAsciiGridConverter(
+				ColorScheme.BLACK_ON_WHITE, CellSampling.MAJORITY, ImageToAsciiGridConverter.WHOLE_CELL).convert(image, 10)));
+		assertThat(frame.getChangedCells(), equalTo(Arrays.asList(new ChangedCell(0, 1, '.', 'X'))));
+	}
+
+	private BufferedImage whiteImage(int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		paint(image, Color.WHITE, 0, 0, width, height);
+		return image;
+	}
+
+	private void paint(BufferedImage image, Color color, int x, int y) {
+		paint(image, color, x, y, 10, 10);
+	}
+
+	private void paint(BufferedImage image, Color color, int x, int y, int width, int height) {
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		graphics.fillRect(x, y, width, height);
+		graphics.dispose();
+	}
+}
@@ -0,0 +1,67 @@
+package org.lunivore.tyburn.asciigrid;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Color;
+
+import org.junit.Test;
+
+public class PaletteColorSchemeBehaviour {
+
+	@Test
+	public void shouldRepresentEachColourByTheNearestInThePalette() {
+		ColorScheme scheme = new PaletteColorScheme.Builder()
+				.map(Color.BLACK, 'X')
+				.map(Color.RED, 'R')
+				.map(Color.WHITE, '.')
+				.build();
+
+		assertThat(scheme.getCharRepresentationOf(Color.BLACK.getRGB()), equalTo('X'));
+		assertThat(scheme.getCharRepresentationOf(new Color(30, 30, 30).getRGB()), equalTo('X'));
+		assertThat(scheme.getCharRepresentationOf(new Color(220, 40, 40).getRGB()), equalTo('R'));
+		assertThat(scheme.getCharRepresentationOf(new Color(230, 230, 230).getRGB()), equalTo('.'));
+	}
+
+	@Test
+	public void shouldRepresentColoursOutsideTheToleranceAsTheOtherwiseCharacter() {
+		ColorScheme scheme = new PaletteColorScheme.Builder()
+				.map(Color.BLACK, 'X')
+				.map(Color.WHITE, '.')
+				.withTolerance(20)
+				.otherwise('?')
+				.build();
+
+		assertThat(scheme.getCharRepresentationOf(new Color(10, 10, 10).getRGB()), equalTo('X'));
+		assertThat(scheme.getCharRepresentationOf(Color.GRAY.getRGB()), equalTo('?'));
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswerForAColourWhetherOrNotItIsCached() {
+		ColorScheme scheme = new PaletteColorScheme.Builder()
+				.map(Color.BLACK, 'X')
+				.map(Color.WHITE, '.')
+				.build();
+
+		for (int round = 0; round < 2; round++) {
+			for (int grey = 0; grey < 256; grey++) {
+				char expected = grey < 128 ? 'X' : '.';
+				assertThat(scheme.getCharRepresentationOf(new Color(grey, grey, grey).getRGB()), equalTo(expected));
+			}
+		}
+	}
+
+	@Test
+	public void shouldTreatNearlyBlackAsBlackWhenNearestBlackOnWhite() {
+		assertThat(ColorScheme.NEAREST_BLACK_ON_WHITE.getCharRepresentationOf(Color.BLACK.getRGB()), equalTo('X'));
+		assertThat(ColorScheme.NEAREST_BLACK_ON_WHITE.getCharRepresentationOf(new Color(20, 20, 20).getRGB()), equalTo('X'));
+		assertThat(ColorScheme.NEAREST_BLACK_ON_WHITE.getCharRepresentationOf(Color.WHITE.getRGB()), equalTo('.'));
+	}
+
+	@Test
+	public void shouldTreatOnlyExactlyBlackAsBlackWhenBlackOnWhite() {
+		assertThat(ColorScheme.BLACK_ON_WHITE.getCharRepresentationOf(Color.BLACK.getRGB()), equalTo('X'));
+		assertThat(ColorScheme.BLACK_ON_WHITE.getCharRepresentationOf(new Color(20, 20, 20).getRGB()), equalTo('.'));
+		assertThat(ColorScheme.BLACK_ON_WHITE.getCharRepresentationOf(Color.WHITE.getRGB()), equalTo('.'));
+	}
+}
@@ -0,0 +1,94 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+import javax.swing.JPanel;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class ComponentPainterBehaviour extends Behaviour {
+
+    @Test
+    public void shouldPaintAComponentIntoAnRgbImage() {
+        JPanel panel = aPanelWithACyanSquare();
+
+        BufferedImage image = new ComponentPainter().paint(panel);
+
+        ensureThat(image.getType(), eq(BufferedImage.TYPE_INT_RGB));
+        ensureThat(image.getWidth(), eq(100));
+        ensureThat(image.getRGB(0, 0), eq(Color.WHITE.getRGB()));
+        ensureThat(image.getRGB(30, 30), eq(Color.CYAN.getRGB()));
+    }
+
+    @Test
+    public void shouldRepaintALeasedImageFromScratch() {
+        ComponentPainter painter = new ComponentPainter();
+        JPanel panel = aPanelWithACyanSquare();
+        painter.paintLeased(panel).release();
+
+        panel.setOpaque(false);
+        ImageLease lease = painter.paintLeased(panel);
+
+        ensureThat(lease.getImage().getRGB(0, 0), eq(Color.BLACK.getRGB()));
+        ensureThat(lease.getImage().getRGB(30, 30), eq(Color.CYAN.getRGB()));
+    }
+
+    @Test
+    public void shouldPaintOnlyARegionOfAComponent() {
+        JPanel panel = aPanelWithACyanSquare();
+
+        BufferedImage image = new ComponentPainter().paintRegion(panel, new Rectangle(10, 50, 30, 20));
+
+        ensureThat(image.getWidth(), eq(30));
+        ensureThat(image.getHeight(), eq(20));
+        ensureThat(image.getRGB(5, 5), eq(Color.WHITE.getRGB()));
+        ensureThat(image.getRGB(15, 5), eq(Color.CYAN.getRGB()));
+        ensureThat(image.getRGB(15, 15), eq(Color.WHITE.getRGB()));
+    }
+
+    @Test
+    public void shouldSliceImagesOfManyComponentsOutOfOnePaint() {
+        JPanel container = new JPanel(null);
+        container.setSize(200, 200);
+        JPanel red = aPanelOf(Color.RED, new Rectangle(10, 10, 30, 30));
+        JPanel blue = aPanelOf(Color.BLUE, new Rectangle(100, 150, 50, 20));
+        container.add(red);
+        container.add(blue);
+
+        Map<Component, BufferedImage> images = new ComponentPainter().paintAll(container, red, blue);
+
+        ensureThat(images.get(red).getWidth(), eq(30));
+        ensureThat(images.get(red).getRGB(29, 29), eq(Color.RED.getRGB()));
+        ensureThat(images.get(blue).getWidth(), eq(50));
+        ensureThat(images.get(blue).getHeight(), eq(20));
+        ensureThat(images.get(blue).getRGB(0, 0), eq(Color.BLUE.getRGB()));
+    }
+
+    private JPanel aPanelOf(Color color, Rectangle bounds) {
+        JPanel panel = new JPanel();
+        panel.setBackground(color);
+        panel.setBounds(bounds);
+        return panel;
+    }
+
+    @SuppressWarnings("serial")
+    private JPanel aPanelWithACyanSquare() {
+        JPanel panel = new JPanel() {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                g.setColor(Color.CYAN);
+                g.fillRect(20, 20, 40, 40);
+            }
+        };
+        panel.setBackground(Color.WHITE);
+        panel.setSize(100, 120);
+        return panel;
+    }
+}
@@ -0,0 +1,65 @@
+package org.lunivore.tyburn.capture;
+
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class ImagePoolBehaviour extends Behaviour {
+
+    @Test
+    public void shouldReuseReleasedImagesOfTheSameSize() {
+        ImagePool pool = new ImagePool();
+
+        ImageLease lease = pool.lease(100, 50);
+        BufferedImage image = lease.getImage();
+        lease.release();
+
+        ensureThat(pool.lease(100, 50).getImage() == image, eq(true));
+        ensureThat(pool.lease(50, 100).getImage() == image, eq(false));
+        ensureThat(pool.getImagesCreated(), eq(2));
+    }
+
+    @Test
+    public void shouldOnlyLeaseAnImageToOneLeaseholderAtATime() {
+        ImagePool pool = new ImagePool();
+
+        ImageLease first = pool.lease(10, 10);
+        ImageLease second = pool.lease(10, 10);
+
+        ensureThat(first.getImage() == second.getImage(), eq(false));
+        ensureThat(first.getImage().getType(), eq(BufferedImage.TYPE_INT_RGB));
+    }
+
+    @Test
+    public void shouldNotLetAnImageBeUsedOnceReleased() {
+        ImageLease lease = new ImagePool().lease(10, 10);
+        lease.release();
+        lease.release();
+
+        try {
+            lease.getImage();
+            fail("Expected the image to be unavailable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldKeepOnlyAFewImagesOfEachSize() {
+        ImagePool pool = new ImagePool(1);
+        ImageLease first = pool.lease(10, 10);
+        ImageLease second = pool.lease(10, 10);
+        BufferedImage firstImage = first.getImage();
+
+        first.release();
+        second.release();
+
+        ensureThat(pool.lease(10, 10).getImage() == firstImage, eq(true));
+        ensureThat(pool.getImagesCreated(), eq(2));
+        pool.lease(10, 10);
+        ensureThat(pool.getImagesCreated(), eq(3));
+    }
+}
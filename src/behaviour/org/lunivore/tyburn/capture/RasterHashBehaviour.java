@@ -0,0 +1,54 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class RasterHashBehaviour extends Behaviour {
+
+    @Test
+    public void shouldHashTheSamePixelsTheSameWayWhateverTheTypeOfImage() {
+        BufferedImage rgb = anImage(BufferedImage.TYPE_INT_RGB, 20, 10);
+        BufferedImage bgr = anImage(BufferedImage.TYPE_3BYTE_BGR, 20, 10);
+
+        ensureThat(RasterHash.of(rgb), eq(RasterHash.of(bgr)));
+        ensureThat(RasterHash.of(rgb), eq(RasterHash.of(anImage(BufferedImage.TYPE_INT_RGB, 20, 10))));
+    }
+
+    @Test
+    public void shouldHashDifferentlyIfAnyPixelChanges() {
+        BufferedImage image = anImage(BufferedImage.TYPE_INT_RGB, 20, 10);
+        long before = RasterHash.of(image);
+
+        image.setRGB(19, 9, Color.RED.getRGB());
+
+        ensureThat(RasterHash.of(image) == before, eq(false));
+    }
+
+    @Test
+    public void shouldHashDifferentlyIfTheSamePixelsAreADifferentShape() {
+        ensureThat(RasterHash.of(anImage(BufferedImage.TYPE_INT_RGB, 20, 10))
+                == RasterHash.of(anImage(BufferedImage.TYPE_INT_RGB, 10, 20)), eq(false));
+    }
+
+    @Test
+    public void shouldHashOnlyThePartOfTheImageWhichIsASubimage() {
+        BufferedImage image = anImage(BufferedImage.TYPE_INT_RGB, 20, 10);
+        BufferedImage copy = anImage(BufferedImage.TYPE_INT_RGB, 20, 10);
+        copy.setRGB(0, 0, Color.RED.getRGB());
+
+        ensureThat(RasterHash.of(image.getSubimage(5, 2, 10, 5)), eq(RasterHash.of(copy.getSubimage(5, 2, 10, 5))));
+    }
+
+    private BufferedImage anImage(int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, new Color((x * 10) % 256, (y * 20) % 256, 100).getRGB());
+            }
+        }
+        return image;
+    }
+}
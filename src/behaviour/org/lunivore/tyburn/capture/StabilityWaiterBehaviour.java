@@ -0,0 +1,76 @@
+package org.lunivore.tyburn.capture;
+
+import static org.junit.Assert.fail;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.threaded.TimeoutException;
+import org.lunivore.tyburn.threaded.VirtualTimeScheduler;
+
+public class StabilityWaiterBehaviour extends Behaviour {
+
+    private VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+
+    @Test
+    public void shouldReturnOnceTheComponentHasLookedTheSameForTheQuietPeriod() throws TimeoutException {
+        // Given a panel which changes on each of its first three repaints
+        AnimatedPanel panel = new AnimatedPanel(3);
+        StabilityWaiter waiter = new StabilityWaiter(new ComponentPainter(), scheduler, 50);
+
+        // When
+        waiter.waitUntilStable(panel, 200, 5000);
+
+        // Then it last changed at 150ms and stayed the same until 350ms
+        ensureThat(scheduler.getTimeInMillis(), eq(350L));
+        ensureThat(panel.paints.get(), eq(8));
+    }
+
+    @Test
+    public void shouldNeedOnlyTwoHashesInARowIfThereIsNoQuietPeriod() throws TimeoutException {
+        AnimatedPanel panel = new AnimatedPanel(0);
+        StabilityWaiter waiter = new StabilityWaiter(new ComponentPainter(), scheduler, 50);
+
+        waiter.waitUntilStable(panel, 0, 5000);
+
+        ensureThat(panel.paints.get(), eq(2));
+    }
+
+    @Test
+    public void shouldTimeoutIfTheComponentKeepsChanging() {
+        AnimatedPanel panel = new AnimatedPanel(Integer.MAX_VALUE);
+        StabilityWaiter waiter = new StabilityWaiter(new ComponentPainter(), scheduler, 50);
+
+        try {
+            waiter.waitUntilStable(panel, 200, 1000);
+            fail("Expected the panel never to be stable");
+        } catch (TimeoutException e) {
+            ensureThat(scheduler.getTimeInMillis(), eq(1000L));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class AnimatedPanel extends JPanel {
+        private final int changingPaints;
+        private final AtomicInteger paints = new AtomicInteger();
+
+        public AnimatedPanel(int changingPaints) {
+            this.changingPaints = changingPaints;
+            setBackground(Color.WHITE);
+            setSize(50, 50);
+        }
+
+        @Override
+        public void paint(Graphics g) {
+            super.paint(g);
+            int frame = Math.min(paints.getAndIncrement(), changingPaints);
+            g.setColor(Color.BLACK);
+            g.fillRect(frame % 50, 0, 1, 1);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.AWTEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JPanel;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.Speed;
+
+public class DirectDispatchDriverBehaviour extends Behaviour {
+
+    @Test
+    public void shouldHaveClickedTheMouseByTheTimeItReturns() {
+        JPanel panel = new JPanel();
+        final List<AWTEvent> received = new ArrayList<AWTEvent>();
+        panel.addMouseListener(new MouseAdapter() {
+            public void mousePressed(MouseEvent e) { received.add(e); }
+            public void mouseReleased(MouseEvent e) { received.add(e); }
+            public void mouseClicked(MouseEvent e) { received.add(e); }
+        });
+        
+        new DirectDispatchDriver(Speed.FLAT_OUT).clickMouse(panel, 5, 7);
+        
+        ensureThat(received.size(), eq(3));
+        ensureThat(received.get(2).getID(), eq(MouseEvent.MOUSE_CLICKED));
+        ensureThat(((MouseEvent) received.get(2)).getPoint().y, eq(7));
+    }
+}
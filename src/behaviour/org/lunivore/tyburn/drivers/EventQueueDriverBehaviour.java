@@ -0,0 +1,68 @@
+package org.lunivore.tyburn.drivers;
+
+import static org.junit.Assert.fail;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JButton;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.actors.IdleTracker;
+import org.lunivore.tyburn.pacing.FixedDelayPacing;
+
+public class EventQueueDriverBehaviour extends Behaviour {
+
+    @Test
+    public void shouldClickButtonsInstantlyOnTheEventThreadIfThePressTimeIsZero() {
+        JButton button = new JButton("Press Me!");
+        final AtomicInteger clicksOnEventThread = new AtomicInteger();
+        button.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                if (EventQueue.isDispatchThread()) {
+                    clicksOnEventThread.incrementAndGet();
+                }
+            }
+        });
+        
+        EventQueueDriver driver = new EventQueueDriver(Speed.INSTANT);
+        for (int i = 0; i < 10; i++) {
+            driver.clickButton(button);
+        }
+        
+        ensureThat(clicksOnEventThread.get(), eq(10));
+    }
+
+    @Test
+    public void shouldOnlyGoToTheEventThreadOnceToFindTheApplicationIdleIfAskedToCoalesceIdles() {
+        JButton button = new JButton("Press Me!");
+        EventQueueDriver driver = new EventQueueDriver(new Speed(new FixedDelayPacing(0), 0, true));
+        
+        try {
+            driver.clickButton(button);
+            long dispatched = IdleTracker.install().getDispatched();
+            driver.clickButton(button);
+            
+            // One trip to press the button and one to find the application idle;
+            // the driver's own wait for idle after the listener's is skipped.
+            ensureThat(IdleTracker.install().getDispatched() - dispatched, eq(2L));
+        } finally {
+            IdleTracker.uninstall();
+        }
+    }
+
+    @Test
+    public void shouldStillExpectTheButtonToBeClicked() {
+        JButton button = new JButton("Press Me!");
+        button.setEnabled(false);
+        
+        try {
+            new EventQueueDriver(Speed.INSTANT).clickButton(button);
+            fail("Expected the click to be missed");
+        } catch (RuntimeException expected) {}
+    }
+}
@@ -0,0 +1,88 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.BorderLayout;
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JTextArea;
+
+import org.lunivore.tyburn.Speed;
+
+/**
+ * Measures how many characters and button clicks per second each driver manages.
+ * Needs a display; run it with Xvfb on a build machine. Pass the number of characters
+ * to type and buttons to click as arguments if the defaults don't suit.
+ */
+public class InputDriverBenchmark {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog. ";
+
+    public static void main(String[] args) throws Exception {
+        int characters = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int clicks = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        
+        final JFrame frame = new JFrame("benchmark");
+        final JTextArea textArea = new JTextArea(10, 40);
+        final JButton button = new JButton("Press Me!");
+        final AtomicInteger clicked = new AtomicInteger();
+        button.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                clicked.incrementAndGet();
+            }
+        });
+        EventQueue.invokeAndWait(new Runnable() {
+            public void run() {
+                frame.getContentPane().add(textArea, BorderLayout.CENTER);
+                frame.getContentPane().add(button, BorderLayout.SOUTH);
+                frame.pack();
+                frame.setVisible(true);
+            }
+        });
+        
+        StringBuffer text = new StringBuffer();
+        while (text.length() < characters) {
+            text.append(TEXT);
+        }
+        text.setLength(characters);
+        
+        InputDriver[] drivers = new InputDriver[] {
+                new EventQueueDriver(Speed.FLAT_OUT),
+                new DirectDispatchDriver(Speed.FLAT_OUT),
+                new RobotDriver(Speed.FLAT_OUT)
+        };
+        
+        for (InputDriver driver : drivers) {
+            textArea.requestFocus();
+            
+            long start = System.nanoTime();
+            driver.typeText(textArea, textArea, text.toString());
+            long typing = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            driver.typeTextInBatches(textArea, textArea, text.toString());
+            long batchTyping = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            for (int i = 0; i < clicks; i++) {
+                driver.clickButton(button);
+            }
+            long clicking = System.nanoTime() - start;
+            
+            System.out.println(driver.getClass().getSimpleName() + ": "
+                    + perSecond(characters, typing) + " chars/s typed, "
+                    + perSecond(characters, batchTyping) + " chars/s typed in batches, "
+                    + perSecond(clicks, clicking) + " clicks/s");
+        }
+        
+        frame.dispose();
+        System.exit(0);
+    }
+
+    private static long perSecond(int count, long nanos) {
+        return count * 1000000000L / Math.max(nanos, 1);
+    }
+}
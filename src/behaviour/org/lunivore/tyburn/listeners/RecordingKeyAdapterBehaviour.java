@@ -0,0 +1,38 @@
+package org.lunivore.tyburn.listeners;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.List;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.Speed;
+
+public class RecordingKeyAdapterBehaviour extends Behaviour {
+
+    @Test
+    public void shouldOnlyRecordTheEventsAskedForEvenWhileBeingAttached() {
+        Component component = new Component() {
+            public synchronized void addKeyListener(KeyListener listener) {
+                super.addKeyListener(listener);
+                // A key is pressed just as the recorder is attached
+                listener.keyPressed(keyEvent(this, KeyEvent.KEY_PRESSED));
+            }
+        };
+
+        RecordingKeyAdapter recorder = new RecordingKeyAdapter(component, Speed.INSTANT, KeyEvent.KEY_TYPED);
+        recorder.keyTyped(keyEvent(component, KeyEvent.KEY_TYPED));
+        List<AWTEvent> events = recorder.awaitCount(1);
+        recorder.stopRecording();
+
+        ensureThat(events.size(), eq(1));
+        ensureThat(events.get(0).getID(), eq(KeyEvent.KEY_TYPED));
+    }
+
+    private static KeyEvent keyEvent(Component component, int id) {
+        return new KeyEvent(component, id, System.currentTimeMillis(), 0,
+                id == KeyEvent.KEY_TYPED ? KeyEvent.VK_UNDEFINED : KeyEvent.VK_A, 'a');
+    }
+}
@@ -0,0 +1,44 @@
+package org.lunivore.tyburn.pacing;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class AdaptivePacingBehaviour extends Behaviour {
+
+    @Test
+    public void shouldGoFlatOutWhileTheApplicationKeepsUp() {
+        AdaptivePacing pacing = new AdaptivePacing(50, 1000, new FixedProbe(1));
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            pacing.holdBack();
+        }
+        
+        ensureThat(System.nanoTime() - start < 50000000L);
+        ensureThat(pacing.getAverageLatencyInMillis(), eq(0L));
+    }
+
+    @Test
+    public void shouldBackOffWhenTheApplicationFallsBehind() {
+        AdaptivePacing pacing = new AdaptivePacing(5, 40, new FixedProbe(100));
+        
+        long start = System.nanoTime();
+        pacing.holdBack();
+        pacing.holdBack();
+        
+        // The average rises to 25 ms, then 43 ms, so the pacing holds back for 40 then 40.
+        ensureThat(System.nanoTime() - start >= 80000000L);
+    }
+
+    private static class FixedProbe implements AdaptivePacing.LatencyProbe {
+        private final long latencyInNanos;
+
+        public FixedProbe(long latencyInMillis) {
+            this.latencyInNanos = latencyInMillis * 1000000L;
+        }
+
+        public long measureLatencyInNanos() {
+            return latencyInNanos;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.lunivore.tyburn.pacing;
+
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class PacingStrategiesBehaviour extends Behaviour {
+
+    @Test
+    public void shouldTreatANumberAsAFixedDelay() {
+        ensureThat(PacingStrategies.parse("200"), isA(FixedDelayPacing.class));
+        ensureThat(PacingStrategies.parse("fixed:200"), isA(FixedDelayPacing.class));
+    }
+
+    @Test
+    public void shouldParseEachKindOfPacing() {
+        ensureThat(PacingStrategies.parse("rate:20"), isA(TokenBucketPacing.class));
+        ensureThat(PacingStrategies.parse("rate:20, 5"), isA(TokenBucketPacing.class));
+        ensureThat(PacingStrategies.parse("jitter:100,400"), isA(JitteredPacing.class));
+        ensureThat(PacingStrategies.parse("adaptive:50,1000"), isA(AdaptivePacing.class));
+    }
+
+    @Test
+    public void shouldRejectPacingItDoesNotUnderstand() {
+        String[] descriptions = new String[] {"fast", "rate:", "jitter:100", "warp:9"};
+        for (String description : descriptions) {
+            try {
+                PacingStrategies.parse(description);
+                fail("Should not have understood " + description);
+            } catch (IllegalArgumentException expected) {}
+        }
+    }
+}
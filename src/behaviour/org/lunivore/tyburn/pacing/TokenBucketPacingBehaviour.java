@@ -0,0 +1,40 @@
+package org.lunivore.tyburn.pacing;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class TokenBucketPacingBehaviour extends Behaviour {
+
+    @Test
+    public void shouldLetABurstThroughWithoutHoldingBack() {
+        TokenBucketPacing pacing = new TokenBucketPacing(1, 5);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            pacing.holdBack();
+        }
+        
+        ensureThat(System.nanoTime() - start < 500000000L);
+    }
+
+    @Test
+    public void shouldHoldBackToTheRateAcrossThreads() throws Exception {
+        final TokenBucketPacing pacing = new TokenBucketPacing(100);
+        Runnable actions = new Runnable() {
+            public void run() {
+                for (int i = 0; i < 10; i++) {
+                    pacing.holdBack();
+                }
+            }
+        };
+        
+        long start = System.nanoTime();
+        Thread other = new Thread(actions);
+        other.start();
+        actions.run();
+        other.join(5000);
+        
+        // 20 actions at 100 per second, with the first one free
+        ensureThat(System.nanoTime() - start >= 190000000L);
+    }
+}
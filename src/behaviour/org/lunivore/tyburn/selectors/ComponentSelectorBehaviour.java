@@ -0,0 +1,142 @@
+package org.lunivore.tyburn.selectors;
+
+import java.awt.Component;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.ComponentFinder;
+import org.lunivore.tyburn.ComponentFinderException;
+import org.lunivore.tyburn.ComponentTreeSnapshot;
+import org.lunivore.tyburn.IndexedComponentFinder;
+
+public class ComponentSelectorBehaviour extends Behaviour {
+
+    private final JPanel root = new JPanel();
+    private final JPanel orders = new JPanel();
+    private final JPanel nestedInOrders = new JPanel();
+    private final JPanel customers = new JPanel();
+    private final JButton ordersOk = new JButton("OK");
+    private final JButton nestedOk = new JButton("OK");
+    private final JButton customersOk = new JButton("OK");
+    private final JButton ordersCancel = new JButton("Cancel");
+    private final JTextField firstAddressLine = new JTextField();
+    private final JTextField secondAddressLine = new JTextField();
+
+    public ComponentSelectorBehaviour() {
+        orders.setName("orders");
+        customers.setName("customers");
+        ordersOk.setName("orders.ok");
+        firstAddressLine.setName("address.line1");
+        secondAddressLine.setName("address.line2");
+        secondAddressLine.setEnabled(false);
+
+        orders.add(ordersOk);
+        orders.add(ordersCancel);
+        nestedInOrders.add(nestedOk);
+        orders.add(nestedInOrders);
+        customers.add(customersOk);
+        customers.add(firstAddressLine);
+        customers.add(secondAddressLine);
+        customers.add(new JLabel("OK"));
+        root.add(orders);
+        root.add(customers);
+    }
+
+    @Test
+    public void shouldFindDirectChildrenByTypeAndText() throws ComponentFinderException {
+        ensureFinds("JPanel#orders > JButton[text=OK]", ordersOk);
+    }
+
+    @Test
+    public void shouldFindAnyDescendants() {
+        ensureFinds("JPanel#orders JButton[text=OK]", ordersOk, nestedOk);
+        ensureFinds("JButton[text=OK]", ordersOk, nestedOk, customersOk);
+    }
+
+    @Test
+    public void shouldMatchSupertypesAndAnyType() {
+        ensureFinds("AbstractButton[text=Cancel]", ordersCancel);
+        ensureFinds("javax.swing.JButton[text=Cancel]", ordersCancel);
+        ensureThat(findAll("#customers > *[text=OK]").size(), eq(2));
+    }
+
+    @Test
+    public void shouldMatchNamesByPrefixAndRegex() {
+        ensureFinds("JTextField[name^=address.]", firstAddressLine, secondAddressLine);
+        ensureFinds("*[name~='address\\.line[2-9]']", secondAddressLine);
+        ensureFinds("#orders.ok", ordersOk);
+    }
+
+    @Test
+    public void shouldMatchOnState() {
+        ensureFinds("JTextField:enabled", firstAddressLine);
+        ensureFinds("JTextField:visible", firstAddressLine, secondAddressLine);
+    }
+
+    @Test
+    public void shouldFindTheSameComponentsWithAnIndexOrASnapshot() throws ComponentFinderException {
+        String[] selectors = {
+                "JPanel#orders > JButton[text=OK]",
+                "JPanel#orders JButton[text=OK]",
+                "JButton",
+                "#customers > *[text=OK]",
+                "JTextField[name^=address.]:enabled"};
+        ComponentTreeSnapshot snapshot = ComponentTreeSnapshot.of(root);
+        for (String selector : selectors) {
+            ComponentSelector compiled = ComponentSelector.compile(selector);
+            List<Component> walked = Arrays.asList(compiled.findComponents(root, new ComponentFinder()));
+            List<Component> indexed = Arrays.asList(compiled.findComponents(root, new IndexedComponentFinder()));
+            List<Component> snapped = Arrays.asList(snapshot.findComponents(compiled));
+            ensureThat(indexed.size(), eq(walked.size()));
+            ensureThat(indexed.containsAll(walked));
+            ensureThat(snapped.size(), eq(walked.size()));
+            ensureThat(snapped.containsAll(walked));
+        }
+    }
+
+    @Test
+    public void shouldReuseCompiledSelectors() {
+        ensureThat(ComponentSelector.compile("JButton[text=OK]") == ComponentSelector.compile("JButton[text=OK]"));
+    }
+
+    @Test
+    public void shouldOnlyCacheTheMostRecentlyUsedSelectors() {
+        ComponentSelector first = ComponentSelector.compile("JButton[text=first]");
+        for (int row = 0; row < ComponentSelector.MAX_COMPILED; row++) {
+            ComponentSelector.compile("JButton[text=" + row + "]");
+        }
+        
+        ensureThat(ComponentSelector.compile("JButton[text=first]") != first);
+    }
+
+    @Test
+    public void shouldRefuseSelectorsItCannotParse() {
+        for (String selector : new String[] {"JButton[colour=red]", "JButton[text=OK", ":hungry", "JButton >", "#"}) {
+            try {
+                ComponentSelector.compile(selector);
+                ensureThat(anExceptionIsThrownFor(selector));
+            } catch (IllegalArgumentException e) {}
+        }
+    }
+
+    private void ensureFinds(String selector, Component... expected) {
+        List<Component> found = findAll(selector);
+        ensureThat(found.size(), eq(expected.length));
+        ensureThat(found.containsAll(Arrays.asList(expected)));
+    }
+
+    private List<Component> findAll(String selector) {
+        return Arrays.asList(ComponentSelector.compile(selector).findComponents(root, new ComponentFinder()));
+    }
+
+    private boolean anExceptionIsThrownFor(String selector) {
+        return false;
+    }
+}
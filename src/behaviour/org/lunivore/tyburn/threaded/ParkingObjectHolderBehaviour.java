@@ -0,0 +1,109 @@
+package org.lunivore.tyburn.threaded;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class ParkingObjectHolderBehaviour extends Behaviour {
+
+    @Test
+    public void shouldReturnExistingObject() throws TimeoutException {
+        ParkingObjectHolder<String> holder = new ParkingObjectHolder<String>(1000);
+        holder.set("Frodo");
+        ensureThat(holder.get(), eq("Frodo"));
+        ensureThat(holder.get(), eq("Frodo"));
+    }
+
+    @Test
+    public void shouldBeReusableOnceTheObjectIsTaken() throws TimeoutException {
+        ParkingObjectHolder<String> holder = new ParkingObjectHolder<String>(1000);
+        holder.set("Frodo");
+        ensureThat(holder.take(1000), eq("Frodo"));
+
+        holder.set("Sam");
+        ensureThat(holder.take(1000), eq("Sam"));
+    }
+
+    @Test
+    public void shouldReturnObjectWhenAddedLater() throws Exception {
+        final ParkingObjectHolder<String> holderUnderTest = new ParkingObjectHolder<String>(1000);
+        final ObjectHolder<String> ourHolder = new ObjectHolder<String>();
+
+        Thread threadForGetToRun = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    ourHolder.held = holderUnderTest.get();
+                } catch (TimeoutException e) { }
+            }
+        });
+
+        threadForGetToRun.start();
+
+        // Wait for thread to initialise and start getting things.
+        threadForGetToRun.join(200);
+        holderUnderTest.set("Frodo");
+        threadForGetToRun.join(5000);
+
+        ensureThat(ourHolder.held, eq("Frodo"));
+    }
+
+    @Test
+    public void shouldTimeoutIfTooLate() throws Exception {
+        PseudoClock clock = new PseudoClock();
+
+        final ParkingObjectHolder<String> holderUnderTest =
+            new ParkingObjectHolder<String>(new ClockedTimeouterFactory(clock), 100);
+        final ObjectHolder<TimeoutException> ourHolder = new ObjectHolder<TimeoutException>();
+
+        Thread threadForGetToRun = new Thread(new Runnable() {
+            public void run() {
+                try  {
+                    holderUnderTest.get();
+                } catch (TimeoutException e) {
+                    ourHolder.held = e;
+                }
+            }
+        });
+
+        threadForGetToRun.start();
+
+        // Wait for a short while to let the thread run
+        threadForGetToRun.join(100);
+        clock.setTimeInMillis(clock.getTimeInMillis() + 2000);
+        threadForGetToRun.join(5000);
+
+        ensureThat(ourHolder.held, isA(TimeoutException.class));
+    }
+
+    @Test
+    public void shouldNeverLoseAWakeUpWhenPassingObjectsBackAndForth() throws Exception {
+        final int exchanges = 20000;
+        final ParkingObjectHolder<Integer> there = new ParkingObjectHolder<Integer>(5000);
+        final ParkingObjectHolder<Integer> back = new ParkingObjectHolder<Integer>(5000);
+        final ObjectHolder<Exception> failure = new ObjectHolder<Exception>();
+
+        Thread echo = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    for (int i = 0; i < exchanges; i++) {
+                        back.set(there.take(5000));
+                    }
+                } catch (TimeoutException e) {
+                    failure.held = e;
+                }
+            }
+        });
+        echo.start();
+
+        for (int i = 0; i < exchanges; i++) {
+            there.set(i);
+            ensureThat(back.take(5000), eq(i));
+        }
+        echo.join(5000);
+
+        ensureThat(failure.held, isNull());
+    }
+
+    private static class ObjectHolder<T> {
+        private volatile T held;
+    }
+}
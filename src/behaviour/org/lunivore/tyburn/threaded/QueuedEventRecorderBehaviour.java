@@ -0,0 +1,103 @@
+package org.lunivore.tyburn.threaded;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+public class QueuedEventRecorderBehaviour extends Behaviour {
+
+    private PseudoClock clock = new PseudoClock();
+
+    @Test
+    public void shouldKeepEveryEventInABurst() throws TimeoutException {
+        QueuedEventRecorder<String> recorder = new QueuedEventRecorder<String>(10, new ClockedTimeouterFactory(clock), 100);
+
+        recorder.record("pressed");
+        recorder.record("released");
+        recorder.record("typed");
+
+        ensureThat(recorder.awaitCount(3), eq(Arrays.asList("pressed", "released", "typed")));
+        ensureThat(recorder.size(), eq(0));
+    }
+
+    @Test
+    public void shouldConsumeEventsUpToTheOneWhichMatches() throws TimeoutException {
+        QueuedEventRecorder<String> recorder = new QueuedEventRecorder<String>(10, new ClockedTimeouterFactory(clock), 100);
+
+        recorder.record("pressed");
+        recorder.record("typed");
+        recorder.record("released");
+
+        ensureThat(recorder.awaitMatching(new EventMatcher<String>() {
+            public boolean matches(String event) {
+                return event.equals("typed");
+            }
+        }), eq("typed"));
+        ensureThat(recorder.awaitCount(1), eq(Arrays.asList("released")));
+    }
+
+    @Test
+    public void shouldDropTheOldestEventsWhenFull() throws TimeoutException {
+        QueuedEventRecorder<String> recorder = new QueuedEventRecorder<String>(2, new ClockedTimeouterFactory(clock), 100);
+
+        recorder.record("one");
+        recorder.record("two");
+        recorder.record("three");
+
+        ensureThat(recorder.awaitCount(2), eq(Arrays.asList("two", "three")));
+    }
+
+    @Test
+    public void shouldWaitForTheWholeBurstToArrive() throws Exception {
+        final QueuedEventRecorder<String> recorder = new QueuedEventRecorder<String>(10, new ClockedTimeouterFactory(), 5000);
+        final ObjectHolder<List<String>> ourHolder = new ObjectHolder<List<String>>();
+
+        Thread threadForAwaitToRun = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    ourHolder.held = recorder.awaitCount(3);
+                } catch (TimeoutException e) { }
+            }
+        });
+        threadForAwaitToRun.start();
+
+        recorder.record("one");
+        threadForAwaitToRun.join(100);
+        recorder.record("two");
+        recorder.record("three");
+        threadForAwaitToRun.join(5000);
+
+        ensureThat(ourHolder.held, eq(Arrays.asList("one", "two", "three")));
+    }
+
+    @Test
+    public void shouldTimeoutIfTheBurstIsIncomplete() throws Exception {
+        final QueuedEventRecorder<String> recorder = new QueuedEventRecorder<String>(10, new ClockedTimeouterFactory(clock), 100);
+        final ObjectHolder<TimeoutException> ourHolder = new ObjectHolder<TimeoutException>();
+        recorder.record("one");
+
+        Thread threadForAwaitToRun = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    recorder.awaitCount(2);
+                } catch (TimeoutException e) {
+                    ourHolder.held = e;
+                }
+            }
+        });
+        threadForAwaitToRun.start();
+
+        threadForAwaitToRun.join(100);
+        clock.setTimeInMillis(clock.getTimeInMillis() + 2000);
+        threadForAwaitToRun.join(5000);
+
+        ensureThat(ourHolder.held, isA(TimeoutException.class));
+        ensureThat(recorder.size(), eq(1));
+    }
+
+    private static class ObjectHolder<T> {
+        private volatile T held;
+    }
+}
@@ -0,0 +1,106 @@
+package org.lunivore.tyburn.threaded;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+
+
+
+public class QueuedMiniConcurrentMapBehaviour extends Behaviour {
+
+    private PseudoClock clock = new PseudoClock();
+
+    @Test
+    public void shouldReturnExistingObjectMatchingKey() throws TimeoutException {
+        QueuedMiniConcurrentMap<String, String> queuedMiniMap = new QueuedMiniConcurrentMap<String, String>(new ClockedTimeouterFactory(clock));
+
+        queuedMiniMap.put("F", "Frodo");
+        ensureThat(queuedMiniMap.get("F", 100), eq("Frodo"));
+    }
+
+    @Test
+    public void shouldAllowNullKeys() throws TimeoutException {
+        QueuedMiniConcurrentMap<String, String> queuedMiniMap = new QueuedMiniConcurrentMap<String, String>(new ClockedTimeouterFactory(clock));
+
+        assertFalse(queuedMiniMap.has(null));
+        queuedMiniMap.put(null, "Nobody");
+        ensureThat(queuedMiniMap.get(null, 100), eq("Nobody"));
+
+        queuedMiniMap.remove(null);
+        assertFalse(queuedMiniMap.has(null));
+    }
+
+    @Test
+    public void shouldTellMeIfItHasAnObjectMatchingTheKeyYet() {
+        QueuedMiniConcurrentMap<String, String> queuedMiniMap = new QueuedMiniConcurrentMap<String, String>(new ClockedTimeouterFactory(clock));
+
+        assertFalse(queuedMiniMap.has("F"));
+
+        queuedMiniMap.put("F", "Frodo");
+
+        assertTrue(queuedMiniMap.has("F"));
+    }
+
+    @Test
+    public void shouldReturnObjectMatchingKeyWhenAddedLaterButNotWhenOtherKeysAreAdded() throws Exception {
+        final QueuedMiniConcurrentMap<String, String> queuedMiniMap = new QueuedMiniConcurrentMap<String, String>(new ClockedTimeouterFactory(clock));
+        final ObjectHolder objectHolder = new ObjectHolder();
+
+        Thread threadForGetToRun = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    objectHolder.object = queuedMiniMap.get("F", 100);
+                } catch (TimeoutException e) { }
+            }
+        });
+
+        threadForGetToRun.start();
+
+        // Wait for a short while, just to be sure that the getThread is running and
+        // waiting on the item (otherwise this test passes anyway, bizarrely)
+        threadForGetToRun.join(200);
+
+        queuedMiniMap.put("G", "Gandalf");
+        threadForGetToRun.join(200);
+        ensureThat(threadForGetToRun.isAlive());
+
+        queuedMiniMap.put("F", "Frodo");
+        threadForGetToRun.join(5000);
+
+        ensureThat(objectHolder.object, eq((Object)"Frodo"));
+    }
+
+    @Test
+    public void shouldTimeoutIfTooLate() throws Exception {
+        final ObjectHolder objectHolder = new ObjectHolder();
+        final QueuedMiniConcurrentMap<String, String> queuedMiniMap =
+            new QueuedMiniConcurrentMap<String, String>(new ClockedTimeouterFactory(clock));
+
+        Thread threadForGetToRun = new Thread(new Runnable() {
+            public void run() {
+                try  {
+                    queuedMiniMap.get("F", 100);
+                } catch (TimeoutException e) {
+                    objectHolder.object = e;
+                }
+            }
+        });
+
+        threadForGetToRun.start();
+
+        // Wait for a short while to let the thread run
+        threadForGetToRun.join(100);
+
+        clock.setTimeInMillis(clock.getTimeInMillis() + 2000);
+
+        threadForGetToRun.join(5000);
+
+        ensureThat((Exception)objectHolder.object, isA(TimeoutException.class));
+    }
+
+    private class ObjectHolder {
+        public volatile Object object;
+    }
+}
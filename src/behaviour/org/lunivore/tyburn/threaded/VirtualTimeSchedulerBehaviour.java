@@ -0,0 +1,94 @@
+package org.lunivore.tyburn.threaded;
+
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.lunivore.tyburn.Behaviour;
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.pacing.FixedDelayPacing;
+
+public class VirtualTimeSchedulerBehaviour extends Behaviour {
+
+    private VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+
+    @Test
+    public void shouldTimeOutAtOnceWhenNothingElseIsRunnable() {
+        QueuedObjectHolder<String> holder = new QueuedObjectHolder<String>(scheduler, 30000);
+        long start = System.nanoTime();
+        
+        try {
+            holder.get();
+            fail("Should have timed out");
+        } catch (TimeoutException expected) {}
+        
+        ensureThat(scheduler.getTimeInMillis(), eq(30000L));
+        ensureThat(System.nanoTime() - start < 5000000000L);
+    }
+
+    @Test
+    public void shouldHoldTimeStillWhileARegisteredThreadIsRunning() throws Exception {
+        final ParkingObjectHolder<String> holder = new ParkingObjectHolder<String>(scheduler, 30000);
+        final ObjectHolder<String> ourHolder = new ObjectHolder<String>();
+        scheduler.register();
+        
+        Thread threadForGetToRun = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    ourHolder.held = holder.get();
+                } catch (TimeoutException e) { }
+            }
+        });
+        threadForGetToRun.start();
+        
+        threadForGetToRun.join(200);
+        holder.set("Frodo");
+        threadForGetToRun.join(5000);
+        scheduler.unregister();
+        
+        ensureThat(ourHolder.held, eq("Frodo"));
+        ensureThat(scheduler.getTimeInMillis(), eq(0L));
+    }
+
+    @Test
+    public void shouldWakeEachWaitingThreadInTurn() throws Exception {
+        final QueuedMiniMap<String, String> map = new QueuedMiniConcurrentMap<String, String>(scheduler);
+        final ObjectHolder<Long> firstTimedOutAt = new ObjectHolder<Long>();
+        
+        Thread first = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    map.get("Frodo", 1000);
+                } catch (TimeoutException e) {
+                    firstTimedOutAt.held = scheduler.getTimeInMillis();
+                }
+            }
+        });
+        first.start();
+        
+        try {
+            map.get("Sam", 5000);
+            fail("Should have timed out");
+        } catch (TimeoutException expected) {}
+        first.join(5000);
+        
+        ensureThat(firstTimedOutAt.held < 5000L);
+        ensureThat(scheduler.getTimeInMillis(), eq(5000L));
+    }
+
+    @Test
+    public void shouldHoldBackInVirtualTime() {
+        Speed speed = new Speed(new FixedDelayPacing(10000, scheduler));
+        long start = System.nanoTime();
+        
+        for (int i = 0; i < 3; i++) {
+            speed.holdBack();
+        }
+        
+        ensureThat(scheduler.getTimeInMillis(), eq(30000L));
+        ensureThat(System.nanoTime() - start < 5000000000L);
+    }
+
+    private static class ObjectHolder<T> {
+        private volatile T held;
+    }
+}
@@ -2,13 +2,133 @@ package org.lunivore.tyburn;
 
 import java.awt.Component;
 import java.awt.Container;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 public class ComponentFinder {
 
+    private static final ComponentFilter ANY_COMPONENT = new ComponentFilter() {
+        public boolean matches(Component child) { return true; }
+    };
+
+    private final ThreadLocal<ComponentWalker> walkers = new ThreadLocal<ComponentWalker>() {
+        protected ComponentWalker initialValue() {
+            return new ComponentWalker();
+        }
+    };
+
+    /**
+     * Stops looking as soon as a second match is found.
+     */
     public Component findExactComponent(Container container, ComponentFilter filter) throws ComponentFinderException {
-        Component[] matchedComponents = findComponents(container, filter);
+        ComponentWalker walker = walker();
+        walker.start(container);
+        try {
+            Component match = walker.next(filter);
+            if (match == null) {
+                throw new ComponentFinderException("No matching component found");
+            }
+            if (walker.next(filter) != null) {
+                throw new ComponentFinderException("More than one matching component found");
+            }
+            return match;
+        } finally {
+            walker.reset();
+        }
+    }
+    
+    public Component[] findComponents(Container container, ComponentFilter filter) {
+        List<Component> matched = new ArrayList<Component>();
+        ComponentWalker walker = walker();
+        walker.start(container);
+        try {
+            for (Component match = walker.next(filter); match != null; match = walker.next(filter)) {
+                matched.add(match);
+            }
+        } finally {
+            walker.reset();
+        }
+        return matched.toArray(new Component[matched.size()]);
+    }
+    
+    /**
+     * Finds an exact match for every one of the filters in a single walk of the tree.
+     * 
+     * @return the matching component for each filter, in the order the filters were given.
+     * @throws ComponentFinderException if any filter matches no components or more than one,
+     * as for findExactComponent.
+     */
+    public Map<ComponentFilter, Component> findExactComponents(Container container, Collection<? extends ComponentFilter> filters) throws ComponentFinderException {
+        List<ComponentFilter> filterList = new ArrayList<ComponentFilter>(filters);
+        Component[] matches = new Component[filterList.size()];
+        int[] matchCounts = new int[filterList.size()];
+        
+        Map<String, List<Integer>> namedFilterPositions = new HashMap<String, List<Integer>>();
+        List<Integer> otherFilterPositions = new ArrayList<Integer>();
+        for (int i = 0; i < filterList.size(); i++) {
+            ComponentFilter filter = filterList.get(i);
+            if (filter instanceof NamedComponentFilter) {
+                String name = ((NamedComponentFilter) filter).getName();
+                if (!namedFilterPositions.containsKey(name)) {
+                    namedFilterPositions.put(name, new ArrayList<Integer>());
+                }
+                namedFilterPositions.get(name).add(i);
+            } else {
+                otherFilterPositions.add(i);
+            }
+        }
+        
+        ComponentWalker walker = walker();
+        walker.start(container);
+        try {
+            for (Component child = walker.next(ANY_COMPONENT); child != null; child = walker.next(ANY_COMPONENT)) {
+                List<Integer> positionsForName = namedFilterPositions.get(child.getName());
+                if (positionsForName != null) {
+                    for (int position : positionsForName) {
+                        recordMatch(child, position, matches, matchCounts);
+                    }
+                }
+                for (int position : otherFilterPositions) {
+                    if (filterList.get(position).matches(child)) {
+                        recordMatch(child, position, matches, matchCounts);
+                    }
+                }
+            }
+        } finally {
+            walker.reset();
+        }
+        
+        Map<ComponentFilter, Component> found = new LinkedHashMap<ComponentFilter, Component>();
+        for (int i = 0; i < filterList.size(); i++) {
+            found.put(filterList.get(i), exactlyOneOf(filterList.get(i), matches[i], matchCounts[i]));
+        }
+        return found;
+    }
+    
+    /**
+     * Finds matching components one at a time, as they are iterated over, so that
+     * a search for the first match need go no further than that match.
+     */
+    public Iterator<Component> iterateComponents(Container container, ComponentFilter filter) {
+        return new MatchingComponentIterator(container, filter);
+    }
+    
+    /**
+     * @return this thread's walker, or a new one if it's already walking, eg: because
+     * a filter is searching with this finder from inside a search.
+     */
+    private ComponentWalker walker() {
+        ComponentWalker walker = walkers.get();
+        return walker.isWalking() ? new ComponentWalker() : walker;
+    }
+    
+    protected Component exactlyOneOf(Component[] matchedComponents) throws ComponentFinderException {
         if (matchedComponents.length == 0) {
             throw new ComponentFinderException("No matching component found");
         }
@@ -18,20 +138,46 @@ public class ComponentFinder {
         return matchedComponents[0];
     }
     
-    public Component[] findComponents(Container container, ComponentFilter filter) {
-        Set<Component> matchedSet = new HashSet<Component>();
-        addMatchingComponentsToSet(container, filter, matchedSet);
-        return matchedSet.toArray(new Component[matchedSet.size()]);
-    }
-    
-    private void addMatchingComponentsToSet(Container container, ComponentFilter filter, Set<Component> matchedSet) {
-        int numberOfChildren = container.getComponentCount();
-        for (int i = 0; i < numberOfChildren; i++) {
-            Component child = container.getComponent(i);
-            if (filter.matches(child)) matchedSet.add(child);
-            if (child instanceof Container) {
-                addMatchingComponentsToSet((Container)child, filter, matchedSet);
-            }
+    protected Component exactlyOneOf(ComponentFilter filter, Component match, int numberOfMatches) throws ComponentFinderException {
+        if (numberOfMatches == 0) {
+            throw new ComponentFinderException("No matching component found for " + filter);
+        }
+        if (numberOfMatches > 1) {
+            throw new ComponentFinderException("More than one matching component found for " + filter);
+        }
+        return match;
+    }
+    
+    private void recordMatch(Component child, int position, Component[] matches, int[] matchCounts) {
+        if (matchCounts[position]++ == 0) {
+            matches[position] = child;
+        }
+    }
+    
+    private static class MatchingComponentIterator implements Iterator<Component> {
+        private final ComponentWalker walker = new ComponentWalker();
+        private final ComponentFilter filter;
+        private Component next;
+
+        public MatchingComponentIterator(Container container, ComponentFilter filter) {
+            this.filter = filter;
+            walker.start(container);
+            next = walker.next(filter);
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Component next() {
+            if (next == null) throw new NoSuchElementException();
+            Component current = next;
+            next = walker.next(filter);
+            return current;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
         }
     }
 }
@@ -0,0 +1,222 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Window;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps an index by name and by class of every component beneath a root container.
+ * The index listens to the tree rather than walking it again, so children which
+ * are added, removed or renamed are reflected as soon as the change is made.
+ * When the root is disposed or is itself added to another container, the index
+ * marks itself as invalid, stops listening and tells its invalidation listener,
+ * if it has one.
+ */
+public class ComponentIndex {
+
+    /**
+     * Told when an index becomes invalid, so that whoever holds it can let it go.
+     * Called without the index's lock held.
+     */
+    public interface InvalidationListener {
+        void indexInvalidated(ComponentIndex index);
+    }
+
+    private final Container root;
+    private final InvalidationListener invalidationListener;
+    private final Map<String, Set<Component>> componentsByName = new HashMap<String, Set<Component>>();
+    private final Map<Class<?>, Set<Component>> componentsByClass = new HashMap<Class<?>, Set<Component>>();
+    private final Map<Component, Object> indexed = new IdentityHashMap<Component, Object>();
+    private final TreeWatcher watcher = new TreeWatcher();
+    private boolean valid = true;
+
+    public ComponentIndex(Container root) {
+        this(root, null);
+    }
+
+    public ComponentIndex(Container root, InvalidationListener invalidationListener) {
+        this.root = root;
+        this.invalidationListener = invalidationListener;
+        root.addHierarchyListener(watcher);
+        synchronized (this) {
+            addChildrenOf(root);
+        }
+    }
+
+    public Container getRoot() {
+        return root;
+    }
+
+    public synchronized boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return every component beneath the root with the given name, which may be null.
+     */
+    public synchronized Component[] componentsNamed(String name) {
+        Set<Component> named = componentsByName.get(name);
+        if (named == null) return new Component[0];
+        return named.toArray(new Component[named.size()]);
+    }
+
+    /**
+     * @return every class of component beneath the root.
+     */
+    public synchronized Class<?>[] indexedClasses() {
+        return componentsByClass.keySet().toArray(new Class<?>[componentsByClass.size()]);
+    }
+
+    /**
+     * @return every component beneath the root which is of exactly the given class.
+     */
+    public synchronized Component[] componentsOfClass(Class<?> componentClass) {
+        Set<Component> ofClass = componentsByClass.get(componentClass);
+        if (ofClass == null) return new Component[0];
+        return ofClass.toArray(new Component[ofClass.size()]);
+    }
+
+    public void dispose() {
+        if (stopIndexing() && invalidationListener != null) {
+            invalidationListener.indexInvalidated(this);
+        }
+    }
+
+    /**
+     * @return whether the index was valid until now.
+     */
+    private synchronized boolean stopIndexing() {
+        if (!valid) return false;
+        valid = false;
+        root.removeHierarchyListener(watcher);
+        root.removeContainerListener(watcher);
+        for (Component component : indexed.keySet()) {
+            removeListenersFrom(component);
+        }
+        indexed.clear();
+        componentsByName.clear();
+        componentsByClass.clear();
+        return true;
+    }
+
+    private void addChildrenOf(Container container) {
+        container.addContainerListener(watcher);
+        int numberOfChildren = container.getComponentCount();
+        for (int i = 0; i < numberOfChildren; i++) {
+            add(container.getComponent(i));
+        }
+    }
+
+    private void add(Component component) {
+        if (indexed.containsKey(component)) return;
+        indexed.put(component, component);
+        nameSetFor(component.getName()).add(component);
+        classSetFor(component.getClass()).add(component);
+        component.addPropertyChangeListener("name", watcher);
+        if (component instanceof Container) {
+            addChildrenOf((Container) component);
+        }
+    }
+
+    private void remove(Component component) {
+        if (indexed.remove(component) == null) return;
+        removeFromNameSet(component.getName(), component);
+        removeFromClassSet(component);
+        removeListenersFrom(component);
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            int numberOfChildren = container.getComponentCount();
+            for (int i = 0; i < numberOfChildren; i++) {
+                remove(container.getComponent(i));
+            }
+        }
+    }
+
+    private void rename(Component component, String oldName, String newName) {
+        if (!indexed.containsKey(component)) return;
+        removeFromNameSet(oldName, component);
+        nameSetFor(newName).add(component);
+    }
+
+    private void removeListenersFrom(Component component) {
+        component.removePropertyChangeListener("name", watcher);
+        if (component instanceof Container) {
+            ((Container) component).removeContainerListener(watcher);
+        }
+    }
+
+    private Set<Component> nameSetFor(String name) {
+        Set<Component> named = componentsByName.get(name);
+        if (named == null) {
+            named = new HashSet<Component>();
+            componentsByName.put(name, named);
+        }
+        return named;
+    }
+
+    private void removeFromNameSet(String name, Component component) {
+        Set<Component> named = componentsByName.get(name);
+        if (named == null) return;
+        named.remove(component);
+        if (named.isEmpty()) componentsByName.remove(name);
+    }
+
+    private Set<Component> classSetFor(Class<?> componentClass) {
+        Set<Component> ofClass = componentsByClass.get(componentClass);
+        if (ofClass == null) {
+            ofClass = new HashSet<Component>();
+            componentsByClass.put(componentClass, ofClass);
+        }
+        return ofClass;
+    }
+
+    private void removeFromClassSet(Component component) {
+        Set<Component> ofClass = componentsByClass.get(component.getClass());
+        if (ofClass == null) return;
+        ofClass.remove(component);
+        if (ofClass.isEmpty()) componentsByClass.remove(component.getClass());
+    }
+
+    private class TreeWatcher implements ContainerListener, HierarchyListener, PropertyChangeListener {
+
+        public void componentAdded(ContainerEvent e) {
+            synchronized (ComponentIndex.this) {
+                if (valid) add(e.getChild());
+            }
+        }
+
+        public void componentRemoved(ContainerEvent e) {
+            synchronized (ComponentIndex.this) {
+                if (valid) remove(e.getChild());
+            }
+        }
+
+        public void propertyChange(PropertyChangeEvent e) {
+            synchronized (ComponentIndex.this) {
+                if (valid) rename((Component) e.getSource(), (String) e.getOldValue(), (String) e.getNewValue());
+            }
+        }
+
+        public void hierarchyChanged(HierarchyEvent e) {
+            if (e.getChanged() != root) return;
+            boolean reparented = (e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0
+                    && !(root instanceof Window) && root.getParent() != null;
+            boolean disposed = (e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0
+                    && !root.isDisplayable();
+            if (reparented || disposed) {
+                dispose();
+            }
+        }
+    }
+}
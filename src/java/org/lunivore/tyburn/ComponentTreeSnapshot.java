@@ -0,0 +1,337 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of a component tree, taken on the event dispatch thread in a
+ * single round trip. Each component is a node, numbered in depth-first order with
+ * the root as node 0, so that a node's descendants are the nodes after it up to
+ * the end of its subtree.</p>
+ *
+ * <p>Once taken, a snapshot can be searched from any thread, and from many threads
+ * at once, without touching the components or the event dispatch thread again.
+ * Only the components themselves, which are kept so that matches can be acted on,
+ * should not be read off the event dispatch thread.</p>
+ */
+public class ComponentTreeSnapshot {
+
+    private static final int VISIBLE = 1;
+    private static final int ENABLED = 2;
+    private static final int SHOWING = 4;
+    private static final int[] NO_NODES = new int[0];
+    private static final TextReader TEXT_READER = new TextReader();
+    private static final ComponentFilter ANY_COMPONENT = new ComponentFilter() {
+        public boolean matches(Component child) { return true; }
+    };
+
+    private final Component[] components;
+    private final int[] parents;
+    private final int[] subtreeEnds;
+    private final String[] names;
+    private final Class<?>[] classes;
+    private final String[] texts;
+    private final int[] bounds;
+    private final byte[] flags;
+    private final Map<String, int[]> nodesByName;
+
+    /**
+     * Takes a snapshot of the given container and everything beneath it, waiting
+     * for the event dispatch thread to do so if called from any other thread.
+     */
+    public static ComponentTreeSnapshot of(Container root) {
+        Capture capture = new Capture(root);
+        if (EventQueue.isDispatchThread()) {
+            capture.run();
+        } else {
+            try {
+                EventQueue.invokeAndWait(capture);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        return new ComponentTreeSnapshot(capture);
+    }
+
+    private ComponentTreeSnapshot(Capture capture) {
+        int size = capture.components.size();
+        components = capture.components.toArray(new Component[size]);
+        parents = capture.parents.toArray();
+        subtreeEnds = capture.subtreeEnds;
+        names = capture.names.toArray(new String[size]);
+        classes = capture.classes.toArray(new Class<?>[size]);
+        texts = capture.texts.toArray(new String[size]);
+        bounds = capture.bounds.toArray();
+        flags = capture.flags.toByteArray();
+        nodesByName = indexNames();
+    }
+
+    public int size() {
+        return components.length;
+    }
+
+    public Component getComponent(int node) {
+        return components[node];
+    }
+
+    /**
+     * @return the parent of the node, or -1 for the root.
+     */
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * @return the first node after the given node which is not beneath it.
+     */
+    public int getSubtreeEnd(int node) {
+        return subtreeEnds[node];
+    }
+
+    public int[] getChildren(int node) {
+        int count = 0;
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+            count++;
+        }
+        int[] children = new int[count];
+        int i = 0;
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+            children[i++] = child;
+        }
+        return children;
+    }
+
+    public boolean isDescendant(int node, int ancestor) {
+        return node > ancestor && node < subtreeEnds[ancestor];
+    }
+
+    public String getName(int node) {
+        return names[node];
+    }
+
+    public Class<?> getComponentClass(int node) {
+        return classes[node];
+    }
+
+    /**
+     * @return the text of buttons, labels and text components, or null for any other component.
+     */
+    public String getText(int node) {
+        return texts[node];
+    }
+
+    /**
+     * @return the bounds of the node in its parent's coordinates.
+     */
+    public Rectangle getBounds(int node) {
+        return new Rectangle(bounds[node * 4], bounds[node * 4 + 1], bounds[node * 4 + 2], bounds[node * 4 + 3]);
+    }
+
+    public boolean isVisible(int node) {
+        return (flags[node] & VISIBLE) != 0;
+    }
+
+    public boolean isEnabled(int node) {
+        return (flags[node] & ENABLED) != 0;
+    }
+
+    public boolean isShowing(int node) {
+        return (flags[node] & SHOWING) != 0;
+    }
+
+    /**
+     * @return every node beneath the root which matches the filter, in depth-first order.
+     */
+    public int[] findNodes(SnapshotFilter filter) {
+        if (filter instanceof NamedComponentFilter) {
+            int[] named = nodesByName.get(((NamedComponentFilter) filter).getName());
+            return named == null ? NO_NODES : named.clone();
+        }
+        IntList matches = new IntList();
+        for (int node = 1; node < components.length; node++) {
+            if (filter.matches(this, node)) matches.add(node);
+        }
+        return matches.toArray();
+    }
+
+    public Component[] findComponents(SnapshotFilter filter) {
+        int[] nodes = findNodes(filter);
+        Component[] found = new Component[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            found[i] = components[nodes[i]];
+        }
+        return found;
+    }
+
+    public Component findExactComponent(SnapshotFilter filter) throws ComponentFinderException {
+        int[] nodes = findNodes(filter);
+        if (nodes.length == 0) {
+            throw new ComponentFinderException("No matching component found");
+        }
+        if (nodes.length > 1) {
+            throw new ComponentFinderException("More than one matching component found");
+        }
+        return components[nodes[0]];
+    }
+
+    /**
+     * @return the exact match for each filter, in the order the filters were given.
+     * @throws ComponentFinderException if any filter matches no components or more than one.
+     */
+    public Map<SnapshotFilter, Component> findExactComponents(Collection<? extends SnapshotFilter> filters) throws ComponentFinderException {
+        Map<SnapshotFilter, Component> found = new LinkedHashMap<SnapshotFilter, Component>();
+        for (SnapshotFilter filter : filters) {
+            int[] nodes = findNodes(filter);
+            if (nodes.length == 0) {
+                throw new ComponentFinderException("No matching component found for " + filter);
+            }
+            if (nodes.length > 1) {
+                throw new ComponentFinderException("More than one matching component found for " + filter);
+            }
+            found.put(filter, components[nodes[0]]);
+        }
+        return found;
+    }
+
+    private Map<String, int[]> indexNames() {
+        Map<String, IntList> lists = new HashMap<String, IntList>();
+        for (int node = 1; node < names.length; node++) {
+            IntList named = lists.get(names[node]);
+            if (named == null) {
+                named = new IntList();
+                lists.put(names[node], named);
+            }
+            named.add(node);
+        }
+        Map<String, int[]> index = new HashMap<String, int[]>();
+        for (Map.Entry<String, IntList> entry : lists.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return index;
+    }
+
+    private static class Capture implements Runnable {
+        private final Container root;
+        private final List<Component> components = new ArrayList<Component>();
+        private final IntList parents = new IntList();
+        private final List<String> names = new ArrayList<String>();
+        private final List<Class<?>> classes = new ArrayList<Class<?>>();
+        private final List<String> texts = new ArrayList<String>();
+        private final IntList bounds = new IntList();
+        private final ByteList flags = new ByteList();
+        private int[] subtreeEnds;
+
+        public Capture(Container root) {
+            this.root = root;
+        }
+
+        /**
+         * Walks the tree with an explicit stack, as the ComponentFinder does, so
+         * that deep trees can't overflow the event dispatch thread's stack.
+         */
+        public void run() {
+            IntList ancestors = new IntList();
+            ancestors.add(record(root, -1));
+            ComponentWalker walker = new ComponentWalker();
+            walker.start(root);
+            for (Component child = walker.next(ANY_COMPONENT); child != null; child = walker.next(ANY_COMPONENT)) {
+                int depth = walker.getDepth();
+                int node = record(child, ancestors.get(depth - 1));
+                if (depth == ancestors.size()) {
+                    ancestors.add(node);
+                } else {
+                    ancestors.set(depth, node);
+                }
+            }
+
+            subtreeEnds = new int[components.size()];
+            for (int node = subtreeEnds.length - 1; node >= 0; node--) {
+                subtreeEnds[node] = Math.max(subtreeEnds[node], node + 1);
+                int parent = parents.get(node);
+                if (parent >= 0) {
+                    subtreeEnds[parent] = Math.max(subtreeEnds[parent], subtreeEnds[node]);
+                }
+            }
+        }
+
+        private int record(Component component, int parent) {
+            int node = components.size();
+            components.add(component);
+            parents.add(parent);
+            names.add(component.getName());
+            classes.add(component.getClass());
+            texts.add(TEXT_READER.textOf(component));
+            bounds.add(component.getX());
+            bounds.add(component.getY());
+            bounds.add(component.getWidth());
+            bounds.add(component.getHeight());
+            flags.add((byte) ((component.isVisible() ? VISIBLE : 0)
+                    | (component.isEnabled() ? ENABLED : 0)
+                    | (component.isShowing() ? SHOWING : 0)));
+            return node;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        public void add(int value) {
+            if (size == values.length) {
+                int[] larger = new int[size * 2];
+                System.arraycopy(values, 0, larger, 0, size);
+                values = larger;
+            }
+            values[size++] = value;
+        }
+
+        public int get(int index) {
+            return values[index];
+        }
+
+        public void set(int index, int value) {
+            values[index] = value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int[] toArray() {
+            int[] array = new int[size];
+            System.arraycopy(values, 0, array, 0, size);
+            return array;
+        }
+    }
+
+    private static class ByteList {
+        private byte[] values = new byte[64];
+        private int size;
+
+        public void add(byte value) {
+            if (size == values.length) {
+                byte[] larger = new byte[size * 2];
+                System.arraycopy(values, 0, larger, 0, size);
+                values = larger;
+            }
+            values[size++] = value;
+        }
+
+        public byte[] toByteArray() {
+            byte[] array = new byte[size];
+            System.arraycopy(values, 0, array, 0, size);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.awt.Container;
+
+/**
+ * Walks the components beneath a container, in the same depth-first order as
+ * the ComponentFinder always has, using an explicit stack instead of recursion.
+ * The stack is kept between walks, so a walker can be reused without allocating
+ * anything. A walker is not thread-safe; give each thread its own.
+ */
+public class ComponentWalker {
+
+    private Container[] containers = new Container[16];
+    private int[] nextChildren = new int[16];
+    private int depth;
+    private int lastDepth;
+
+    /**
+     * Starts a new walk beneath the given container, abandoning any walk in progress.
+     * The container itself is never returned.
+     */
+    public void start(Container container) {
+        reset();
+        push(container);
+    }
+
+    /**
+     * @return the next component in the walk which matches the filter, or null
+     * if there are no more.
+     */
+    public Component next(ComponentFilter filter) {
+        while (depth > 0) {
+            int top = depth - 1;
+            Container container = containers[top];
+            int nextChild = nextChildren[top];
+            if (nextChild >= container.getComponentCount()) {
+                containers[top] = null;
+                depth--;
+                continue;
+            }
+            nextChildren[top] = nextChild + 1;
+            Component child = container.getComponent(nextChild);
+            lastDepth = depth;
+            if (child instanceof Container) {
+                push((Container) child);
+            }
+            if (filter.matches(child)) return child;
+        }
+        return null;
+    }
+
+    /**
+     * @return how far beneath the container being walked the last component
+     * looked at is, with the container's own children at 1.
+     */
+    public int getDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return true if a walk has been started and has not yet finished or been reset.
+     */
+    public boolean isWalking() {
+        return depth > 0;
+    }
+
+    /**
+     * Abandons the walk in progress, releasing any components it was holding on to.
+     */
+    public void reset() {
+        while (depth > 0) {
+            containers[--depth] = null;
+        }
+    }
+
+    private void push(Container container) {
+        if (depth == containers.length) {
+            Container[] largerContainers = new Container[depth * 2];
+            int[] largerNextChildren = new int[depth * 2];
+            System.arraycopy(containers, 0, largerContainers, 0, depth);
+            System.arraycopy(nextChildren, 0, largerNextChildren, 0, depth);
+            containers = largerContainers;
+            nextChildren = largerNextChildren;
+        }
+        containers[depth] = container;
+        nextChildren[depth] = 0;
+        depth++;
+    }
+}
@@ -0,0 +1,42 @@
+package org.lunivore.tyburn;
+
+import org.lunivore.tyburn.drivers.DirectDispatchDriver;
+import org.lunivore.tyburn.drivers.EventQueueDriver;
+import org.lunivore.tyburn.drivers.InputDriver;
+import org.lunivore.tyburn.drivers.RobotDriver;
+
+/**
+ * How the actors deliver the events they create.
+ * 
+ * POST_TO_EVENT_QUEUE posts events to the system event queue, as the operating
+ * system would, and waits for listeners to confirm that they have arrived.
+ * 
+ * DISPATCH_DIRECTLY dispatches the events straight to their component on the
+ * event dispatch thread, all at once, so that an action is complete as soon as
+ * it returns. It's much faster, but events don't go through the event queue or
+ * the focus manager, so use it only where that doesn't matter to the application.
+ * 
+ * USE_ROBOT creates native input with java.awt.Robot, for applications which
+ * ignore synthetic events. It needs a real or virtual display.
+ * 
+ * For anything else, pass an InputDriver to the WindowControl instead.
+ */
+public enum DispatchMode {
+    POST_TO_EVENT_QUEUE {
+        public InputDriver createDriver(Speed speed) {
+            return new EventQueueDriver(speed);
+        }
+    },
+    DISPATCH_DIRECTLY {
+        public InputDriver createDriver(Speed speed) {
+            return new DirectDispatchDriver(speed);
+        }
+    },
+    USE_ROBOT {
+        public InputDriver createDriver(Speed speed) {
+            return new RobotDriver(speed);
+        }
+    };
+    
+    public abstract InputDriver createDriver(Speed speed);
+}
@@ -0,0 +1,17 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+
+/**
+ * A filter which can use a ComponentIndex to narrow down the components it
+ * might match, so that an IndexedComponentFinder need not try it on every one.
+ */
+public interface IndexableFilter extends ComponentFilter {
+
+    /**
+     * @return every indexed component which might match this filter, or null if
+     * the index can't help and the tree must be walked instead.
+     */
+    Component[] candidatesFrom(ComponentIndex index);
+
+}
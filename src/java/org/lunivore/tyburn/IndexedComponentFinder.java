@@ -0,0 +1,156 @@
+package org.lunivore.tyburn;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A component finder which keeps an index for each top-level container it
+ * is asked to search, so that finding components by name no longer walks
+ * the whole tree. The index is kept up to date by listening to the tree; see
+ * ComponentIndex. Filters which can use the index, such as NamedComponentFilter,
+ * are only tried against the components the index suggests; any others are
+ * searched for in the same way as a normal ComponentFinder.
+ */
+public class IndexedComponentFinder extends ComponentFinder {
+
+    private final Map<Container, ComponentIndex> indexes = new WeakHashMap<Container, ComponentIndex>();
+    private final ComponentIndex.InvalidationListener forgetter = new ComponentIndex.InvalidationListener() {
+        public void indexInvalidated(ComponentIndex index) {
+            synchronized (IndexedComponentFinder.this) {
+                if (indexes.get(index.getRoot()) == index) {
+                    indexes.remove(index.getRoot());
+                }
+            }
+        }
+    };
+
+    @Override
+    public Component findExactComponent(Container container, ComponentFilter filter) throws ComponentFinderException {
+        Component[] found = findIndexedComponents(container, filter);
+        if (found == null) {
+            return super.findExactComponent(container, filter);
+        }
+        return exactlyOneOf(found);
+    }
+
+    @Override
+    public Component[] findComponents(Container container, ComponentFilter filter) {
+        Component[] found = findIndexedComponents(container, filter);
+        if (found == null) {
+            return super.findComponents(container, filter);
+        }
+        return found;
+    }
+
+    /**
+     * Filters which can use the index are looked up in it; any others are found
+     * together in a single walk of the tree.
+     */
+    @Override
+    public Map<ComponentFilter, Component> findExactComponents(Container container, Collection<? extends ComponentFilter> filters) throws ComponentFinderException {
+        Map<ComponentFilter, Component[]> foundInIndex = new HashMap<ComponentFilter, Component[]>();
+        List<ComponentFilter> unindexedFilters = new ArrayList<ComponentFilter>();
+        for (ComponentFilter filter : filters) {
+            Component[] found = findIndexedComponents(container, filter);
+            if (found == null) {
+                unindexedFilters.add(filter);
+            } else {
+                foundInIndex.put(filter, found);
+            }
+        }
+        Map<ComponentFilter, Component> foundByWalking = unindexedFilters.isEmpty()
+                ? Collections.<ComponentFilter, Component>emptyMap()
+                : super.findExactComponents(container, unindexedFilters);
+        
+        Map<ComponentFilter, Component> found = new LinkedHashMap<ComponentFilter, Component>();
+        for (ComponentFilter filter : filters) {
+            Component[] indexed = foundInIndex.get(filter);
+            if (indexed != null) {
+                found.put(filter, exactlyOneOf(filter, indexed.length == 0 ? null : indexed[0], indexed.length));
+            } else {
+                found.put(filter, foundByWalking.get(filter));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Iterator<Component> iterateComponents(Container container, ComponentFilter filter) {
+        Component[] found = findIndexedComponents(container, filter);
+        if (found == null) {
+            return super.iterateComponents(container, filter);
+        }
+        return Arrays.asList(found).iterator();
+    }
+
+    /**
+     * @return the matching components beneath the container, or null if the filter can't use the index.
+     */
+    private Component[] findIndexedComponents(Container container, ComponentFilter filter) {
+        if (!(filter instanceof IndexableFilter)) return null;
+        
+        Container root = rootOf(container);
+        Component[] candidates = ((IndexableFilter) filter).candidatesFrom(indexFor(root));
+        if (candidates == null) return null;
+
+        List<Component> matches = new ArrayList<Component>();
+        for (Component candidate : candidates) {
+            if ((root == container || (candidate != container && isDescendingFrom(candidate, container)))
+                    && filter.matches(candidate)) {
+                matches.add(candidate);
+            }
+        }
+        return matches.toArray(new Component[matches.size()]);
+    }
+
+    /**
+     * Stops indexing the given container. Indexes are also dropped automatically
+     * when their container is disposed.
+     */
+    public void removeIndexFor(Container container) {
+        ComponentIndex index;
+        synchronized (this) {
+            index = indexes.remove(container);
+        }
+        if (index != null) index.dispose();
+    }
+
+    synchronized boolean isIndexing(Container container) {
+        return indexes.containsKey(container);
+    }
+
+    private synchronized ComponentIndex indexFor(Container root) {
+        ComponentIndex index = indexes.get(root);
+        if (index == null || !index.isValid()) {
+            index = new ComponentIndex(root, forgetter);
+            indexes.put(root, index);
+        }
+        return index;
+    }
+
+    private Container rootOf(Container container) {
+        Container root = container;
+        while (!(root instanceof Window) && root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    private boolean isDescendingFrom(Component component, Container container) {
+        for (Container parent = component.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == container) return true;
+        }
+        return false;
+    }
+}
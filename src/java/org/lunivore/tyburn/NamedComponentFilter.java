@@ -2,7 +2,7 @@ package org.lunivore.tyburn;
 
 import java.awt.Component;
 
-public class NamedComponentFilter implements ComponentFilter {
+public class NamedComponentFilter implements IndexableFilter, SnapshotFilter {
 
     private String name;
 
@@ -15,4 +15,22 @@ public class NamedComponentFilter implements ComponentFilter {
         return name.equals(child.getName());
     }
 
+    public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+        if (name == null) return snapshot.getName(node) == null;
+        return name.equals(snapshot.getName(node));
+    }
+
+    public Component[] candidatesFrom(ComponentIndex index) {
+        return index.componentsNamed(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "component named " + name;
+    }
+
 }
@@ -1,15 +1,27 @@
 package org.lunivore.tyburn;
 
+import org.lunivore.tyburn.pacing.PacingStrategies;
+
 /**
  * Set the system property org.lunivore.tyburn.speed to an integer value
  * to hold back after every action that Tyburn performs by that number 
- * of milliseconds.
+ * of milliseconds, or to any other pacing that PacingStrategies can parse
+ * (eg: "rate:20" for 20 actions per second).
+ * 
+ * Set org.lunivore.tyburn.buttonPressTime to the number of milliseconds
+ * for which buttons should be held down; 0 clicks them instantly.
  */
 public class PropertyDrivenSpeed extends Speed {
 
 	public static final String SPEED_PROPERTY = "org.lunivore.tyburn.speed";
+	public static final String BUTTON_PRESS_TIME_PROPERTY = "org.lunivore.tyburn.buttonPressTime";
 
 	public PropertyDrivenSpeed() {
-		super(System.getProperty(SPEED_PROPERTY) == null ? 0 : Integer.valueOf(System.getProperty(SPEED_PROPERTY)));
+		super(PacingStrategies.parse(System.getProperty(SPEED_PROPERTY, "0")), 
+				intProperty(BUTTON_PRESS_TIME_PROPERTY, DEFAULT_BUTTON_PRESS_TIME));
+	}
+
+	private static int intProperty(String property, int defaultValue) {
+		return System.getProperty(property) == null ? defaultValue : Integer.valueOf(System.getProperty(property));
 	}
 }
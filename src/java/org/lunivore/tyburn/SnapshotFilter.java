@@ -0,0 +1,11 @@
+package org.lunivore.tyburn;
+
+/**
+ * Matches components captured in a ComponentTreeSnapshot, using only what the
+ * snapshot recorded, so that it can be used on any thread.
+ */
+public interface SnapshotFilter {
+
+    boolean matches(ComponentTreeSnapshot snapshot, int node);
+
+}
@@ -1,33 +1,104 @@
 package org.lunivore.tyburn;
 
+import org.lunivore.tyburn.pacing.FixedDelayPacing;
+import org.lunivore.tyburn.pacing.PacingStrategy;
+import org.lunivore.tyburn.threaded.ClockedTimeouterFactory;
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+import org.lunivore.tyburn.threaded.TimeouterFactory;
+
 /**
  * Controls the speed at which the window control operates.
  * This is normally changed by using a system property that can
  * be easily switched on or off - see PropertyDrivenSpeed. 
+ * 
+ * How long to hold back after each action is up to a pacing strategy;
+ * by default it's a fixed number of milliseconds.
+ * 
+ * The speed also says whether the idlers which wait for the application between
+ * actions should coalesce idles - see Idler. Every idler created by a WindowControl,
+ * its driver and its listeners is created this way.
+ * 
+ * The speed also carries the sleeper and timeouter factory with which a WindowControl,
+ * its actors and its drivers wait, so that all of their waiting can be done in
+ * virtual time - see VirtualTimeScheduler.
  */
 public class Speed {
 
+	public static final int DEFAULT_BUTTON_PRESS_TIME = 200;
+
+	public static Speed INSTANT = new Speed(0, 0);
 	public static Speed FLAT_OUT = new Speed(0);
 	public static Speed FAST_WALK = new Speed(200);
 	public static Speed SLOW_WALK = new Speed(500);
 	
-	private final int speed;
+	private final PacingStrategy pacing;
+	private final int buttonPressTime;
+	private final boolean coalesceIdles;
+	private final Sleeper sleeper;
+	private final TimeouterFactory timeouterFactory;
 	
 	public Speed(int speed) {
-		this.speed = speed;
+		this(speed, DEFAULT_BUTTON_PRESS_TIME);
+	}
+	
+	public Speed(PacingStrategy pacing) {
+		this(pacing, DEFAULT_BUTTON_PRESS_TIME);
+	}
+	
+	/**
+	 * @param buttonPressTime how long to hold buttons down for when clicking them.
+	 * With 0, buttons are clicked through their model on the event dispatch thread,
+	 * without being held down or repainted.
+	 */
+	public Speed(int speed, int buttonPressTime) {
+		this(new FixedDelayPacing(speed), buttonPressTime);
+	}
+	
+	public Speed(PacingStrategy pacing, int buttonPressTime) {
+		this(pacing, buttonPressTime, false);
+	}
+	
+	/**
+	 * @param coalesceIdles whether to skip waiting for idle if nothing has happened
+	 * since the application was last found to be idle. This installs an IdleTracker
+	 * on the system event queue; close the WindowControl to uninstall it.
+	 */
+	public Speed(PacingStrategy pacing, int buttonPressTime, boolean coalesceIdles) {
+		this(pacing, buttonPressTime, coalesceIdles, new SystemClock(), new ClockedTimeouterFactory());
+	}
+	
+	/**
+	 * @param sleeper used to wait between checks, eg: for a component to stop changing.
+	 * The pacing strategy has a sleeper of its own.
+	 * @param timeouterFactory used to time out every wait for events and windows.
+	 */
+	public Speed(PacingStrategy pacing, int buttonPressTime, boolean coalesceIdles, 
+			Sleeper sleeper, TimeouterFactory timeouterFactory) {
+		this.pacing = pacing;
+		this.buttonPressTime = buttonPressTime;
+		this.coalesceIdles = coalesceIdles;
+		this.sleeper = sleeper;
+		this.timeouterFactory = timeouterFactory;
+	}
+	
+	public int getButtonPressTime() {
+		return buttonPressTime;
 	}
 
-	public void holdBack() {
-		if (speed > 0) {
-			synchronized (this) {
-				try {
-					wait(speed);
-				} catch (InterruptedException e) {
-					throw new RuntimeException(e);
-				}
-			}
-		}
+	public boolean isCoalescingIdles() {
+		return coalesceIdles;
 	}
 
+	public Sleeper getSleeper() {
+		return sleeper;
+	}
+
+	public TimeouterFactory getTimeouterFactory() {
+		return timeouterFactory;
+	}
 
+	public void holdBack() {
+		pacing.holdBack();
+	}
 }
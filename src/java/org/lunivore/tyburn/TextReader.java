@@ -0,0 +1,29 @@
+package org.lunivore.tyburn;
+
+import java.awt.Button;
+import java.awt.Component;
+import java.awt.Label;
+import java.awt.TextComponent;
+
+import javax.swing.AbstractButton;
+import javax.swing.JLabel;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Reads the text shown by buttons, labels and text components.
+ */
+public class TextReader {
+
+    /**
+     * @return the component's text, or null if it isn't a component which shows text.
+     */
+    public String textOf(Component component) {
+        if (component instanceof AbstractButton) return ((AbstractButton) component).getText();
+        if (component instanceof JLabel) return ((JLabel) component).getText();
+        if (component instanceof JTextComponent) return ((JTextComponent) component).getText();
+        if (component instanceof TextComponent) return ((TextComponent) component).getText();
+        if (component instanceof Button) return ((Button) component).getLabel();
+        if (component instanceof Label) return ((Label) component).getText();
+        return null;
+    }
+}
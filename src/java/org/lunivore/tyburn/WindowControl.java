@@ -1,10 +1,14 @@
 package org.lunivore.tyburn;
 
 import java.awt.Component;
+import java.awt.Rectangle;
 import java.awt.TextComponent;
 import java.awt.Window;
-import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.swing.AbstractButton;
 import javax.swing.text.JTextComponent;
@@ -12,13 +16,24 @@ import javax.swing.text.JTextComponent;
 import org.lunivore.tyburn.actors.ButtonClicker;
 import org.lunivore.tyburn.actors.CharacterTyper;
 import org.lunivore.tyburn.actors.Focuser;
+import org.lunivore.tyburn.actors.IdleTracker;
 import org.lunivore.tyburn.actors.Idler;
 import org.lunivore.tyburn.actors.MouseClicker;
 import org.lunivore.tyburn.actors.WindowGrabber;
+import org.lunivore.tyburn.capture.ComponentPainter;
+import org.lunivore.tyburn.capture.ImageLease;
+import org.lunivore.tyburn.capture.StabilityWaiter;
+import org.lunivore.tyburn.drivers.InputDriver;
+import org.lunivore.tyburn.selectors.ComponentSelector;
 import org.lunivore.tyburn.threaded.TimeoutException;
+import org.lunivore.tyburn.threaded.TimeouterFactory;
 
 
-public class WindowControl {
+/**
+ * Finds a window by name and drives the components in it. If the speed coalesces
+ * idles, close the control once finished with it - see close().
+ */
+public class WindowControl implements AutoCloseable {
     public static final long DEFAULT_WINDOW_TIMEOUT = 30000;
 
     // Use of the WindowWrapper starts it grabbing windows ASAP.
@@ -27,6 +42,8 @@ public class WindowControl {
     private final CharacterTyper typer;
     private final ButtonClicker buttonClicker;
     private final MouseClicker mouseClicker;
+    private final ComponentPainter painter;
+    private final StabilityWaiter stabilityWaiter;
     
     private final String windowName;
     private final ComponentFinder finder;
@@ -38,6 +55,10 @@ public class WindowControl {
 
 	private final long timeout;
 
+	private final boolean coalescingIdles;
+
+	private final TimeouterFactory timeouterFactory;
+
     public WindowControl(String windowName) {
         this(windowName, DEFAULT_WINDOW_TIMEOUT);
     }
@@ -47,14 +68,33 @@ public class WindowControl {
 	}
     
     public WindowControl(String windowName, ComponentFinder finder, Speed speed, long timeout) {
+        this(windowName, finder, speed, timeout, DispatchMode.POST_TO_EVENT_QUEUE);
+    }
+    
+    /**
+     * @param dispatchMode whether to post events to the system event queue, or to
+     * dispatch them directly to their components - see DispatchMode.
+     */
+    public WindowControl(String windowName, ComponentFinder finder, Speed speed, long timeout, DispatchMode dispatchMode) {
+        this(windowName, finder, speed, timeout, dispatchMode.createDriver(speed));
+    }
+    
+    /**
+     * @param driver creates the input for every action - see InputDriver.
+     */
+    public WindowControl(String windowName, ComponentFinder finder, Speed speed, long timeout, InputDriver driver) {
 		this.timeout = timeout;
 		new HeadlessChecker().check();
         this.windowName = windowName;
         this.finder = finder;
-        idler = new Idler();
-        typer = new CharacterTyper(speed);
-        buttonClicker = new ButtonClicker(speed);
-        mouseClicker = new MouseClicker(speed);
+        coalescingIdles = speed.isCoalescingIdles();
+        timeouterFactory = speed.getTimeouterFactory();
+        idler = new Idler(coalescingIdles);
+        typer = new CharacterTyper(speed, driver);
+        buttonClicker = new ButtonClicker(driver);
+        mouseClicker = new MouseClicker(driver);
+        painter = new ComponentPainter();
+        stabilityWaiter = new StabilityWaiter(painter, speed.getSleeper(), StabilityWaiter.DEFAULT_POLL_INTERVAL);
         focuser = new Focuser(speed);
     }
 
@@ -63,6 +103,26 @@ public class WindowControl {
         idler.waitForIdle();
     }
     
+    /**
+     * Waits for the application to handle everything it has been sent, and anything
+     * it posts in turn. With a speed which coalesces idles, this does nothing if
+     * nothing has happened since the last action.
+     */
+    public void waitForIdle() {
+        idler.waitForIdle();
+    }
+    
+    /**
+     * Uninstalls the IdleTracker if the speed coalesces idles, putting the system event
+     * queue back as it was; any other controls sharing it will stop skipping idles.
+     * This doesn't close the window - see closeWindow.
+     */
+    public void close() {
+        if (coalescingIdles) {
+            IdleTracker.uninstall();
+        }
+    }
+    
     public void clickButton(String componentName) throws ComponentFinderException, TimeoutException {
         AbstractButton button = (AbstractButton) finder.findExactComponent(
                 getOpenWindow(), new NamedComponentFilter(componentName));
@@ -78,6 +138,15 @@ public class WindowControl {
         Component component = findComponent(componentName);
         typer.typeIntoComponent(component, text);
     }
+    
+    /**
+     * Enters the text a batch of characters at a time, waiting for each batch rather than
+     * each character. Much faster than enterText for long text.
+     */
+    public void enterTextInBatches(String componentName, String text) throws ComponentFinderException, TimeoutException {
+        Component component = findComponent(componentName);
+        typer.typeIntoComponentInBatches(component, text);
+    }
         
 
     public void typeIntoTextComponent(TextComponent component, String text) {
@@ -108,10 +177,50 @@ public class WindowControl {
         return finder.findExactComponent(getOpenWindow(), new NamedComponentFilter(componentName));
     }
     
+    /**
+     * Finds all the named components in one search of the window; use this rather
+     * than findComponent when filling in or checking many fields at once.
+     * 
+     * @return the components, keyed and ordered by name.
+     */
+    public Map<String, Component> findComponents(String... componentNames) throws ComponentFinderException, TimeoutException {
+        List<NamedComponentFilter> filters = new ArrayList<NamedComponentFilter>();
+        for (String componentName : componentNames) {
+            filters.add(new NamedComponentFilter(componentName));
+        }
+        Map<ComponentFilter, Component> found = finder.findExactComponents(getOpenWindow(), filters);
+        
+        Map<String, Component> foundByName = new LinkedHashMap<String, Component>();
+        for (NamedComponentFilter filter : filters) {
+            foundByName.put(filter.getName(), found.get(filter));
+        }
+        return foundByName;
+    }
+    
+    /**
+     * Finds exactly one component matching a selector such as "JPanel#orders > JButton[text=OK]".
+     * See ComponentSelector for the syntax. Selectors are compiled once and reused.
+     */
+    public Component findComponentMatching(String selector) throws ComponentFinderException, TimeoutException {
+        return ComponentSelector.compile(selector).findExactComponent(getOpenWindow(), finder);
+    }
+    
+    public Component[] findComponentsMatching(String selector) throws TimeoutException {
+        return ComponentSelector.compile(selector).findComponents(getOpenWindow(), finder);
+    }
+    
+    /**
+     * Copies the window's component tree in one trip to the event dispatch thread,
+     * so that it can be searched repeatedly, from any thread, without waiting for idle.
+     */
+    public ComponentTreeSnapshot takeSnapshot() throws TimeoutException {
+        return ComponentTreeSnapshot.of(getOpenWindow());
+    }
+    
     public Window getOpenWindow() throws TimeoutException {
         if (window == null) {
             idler.waitForIdle();
-            window = grabber.getWindow(windowName, timeout);
+            window = grabber.getWindow(windowName, timeout, timeouterFactory);
         }
         return window;
     }
@@ -121,11 +230,73 @@ public class WindowControl {
         idler.waitForIdle();
     }
 
+	/**
+	 * Grabs a new image of the component, which belongs to the caller. Each grab
+	 * allocates a fresh image; when grabbing repeatedly, use leaseImageOf instead.
+	 */
 	public BufferedImage grabImageOf(String componentName) throws ComponentFinderException, TimeoutException {
-		Component component = findComponent(componentName);
-		BufferedImage image = new BufferedImage(component.getWidth(), component.getHeight(), ColorSpace.TYPE_RGB);
-		component.paint(image.createGraphics());
-		return image;
+		return painter.paint(findComponent(componentName));
+	}
+
+	/**
+	 * Grabs an image of just one region of the component, in the component's
+	 * coordinates. Only that region is painted.
+	 */
+	public BufferedImage grabImageOf(String componentName, Rectangle region) throws ComponentFinderException, TimeoutException {
+		return painter.paintRegion(findComponent(componentName), region);
+	}
+
+	/**
+	 * Grabs an image of one region of the window, in the window's coordinates.
+	 */
+	public BufferedImage grabImageOfWindow(Rectangle region) throws TimeoutException {
+		return painter.paintRegion(getOpenWindow(), region);
+	}
+
+	/**
+	 * Grabs images of all the named components with one paint of the window;
+	 * use this rather than grabImageOf when checking many components at once.
+	 * 
+	 * @return the images, keyed and ordered by name.
+	 */
+	public Map<String, BufferedImage> grabImagesOf(String... componentNames) throws ComponentFinderException, TimeoutException {
+		Map<String, Component> components = findComponents(componentNames);
+		Map<Component, BufferedImage> images = painter.paintAll(getOpenWindow(),
+				components.values().toArray(new Component[components.size()]));
+
+		Map<String, BufferedImage> imagesByName = new LinkedHashMap<String, BufferedImage>();
+		for (Map.Entry<String, Component> entry : components.entrySet()) {
+			imagesByName.put(entry.getKey(), images.get(entry.getValue()));
+		}
+		return imagesByName;
+	}
+
+	/**
+	 * Grabs an image of the component into an image from a pool, so that grabbing
+	 * repeatedly (eg: once per generation of an animation) makes no garbage.
+	 * Release the lease once finished with the image.
+	 */
+	public ImageLease leaseImageOf(String componentName) throws ComponentFinderException, TimeoutException {
+		return painter.paintLeased(findComponent(componentName));
+	}
+
+	/**
+	 * @return a 64-bit hash of how the component looks, which changes if it's
+	 * repainted any differently.
+	 */
+	public long hashImageOf(String componentName) throws ComponentFinderException, TimeoutException {
+		return painter.hash(findComponent(componentName));
+	}
+
+	/**
+	 * Waits for the component to look the same for the whole of the quiet period
+	 * (eg: for an animation to finish), checking by hashing rather than by grabbing
+	 * and converting images.
+	 * 
+	 * @throws TimeoutException if it is still changing after the timeout.
+	 */
+	public void waitUntilStable(String componentName, long quietPeriod, long timeout) throws ComponentFinderException, TimeoutException {
+		stabilityWaiter.waitUntilStable(findComponent(componentName), quietPeriod, timeout);
 	}
 
 	public boolean hasFoundOpenWindow() {
@@ -1,19 +1,16 @@
 package org.lunivore.tyburn.actors;
 
-import java.awt.AWTEvent;
 import java.awt.Component;
 import java.awt.Container;
-import java.awt.EventQueue;
-import java.awt.Toolkit;
 import java.awt.Window;
-import java.awt.event.KeyEvent;
 
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
 
 import org.lunivore.tyburn.Speed;
-import org.lunivore.tyburn.listeners.QueueingKeyAdapter;
+import org.lunivore.tyburn.drivers.EventQueueDriver;
+import org.lunivore.tyburn.drivers.InputDriver;
 import org.lunivore.tyburn.threaded.TimeoutException;
 
 /**
@@ -21,31 +18,31 @@ import org.lunivore.tyburn.threaded.TimeoutException;
  */
 public class CharacterTyper {
 
-    private EventQueue sysQueue;
-    private Idler idler;
     private Focuser focuser;
-	private final Speed speed;
+    private final InputDriver driver;
 
     public CharacterTyper(Speed speed) {
-        this.speed = speed;
-		sysQueue = Toolkit.getDefaultToolkit().getSystemEventQueue();
-        idler = new Idler();
+        this(speed, new EventQueueDriver(speed));
+    }
+
+    public CharacterTyper(Speed speed, InputDriver driver) {
+        this.driver = driver;
         focuser = new Focuser(speed);
     }
     
     public void typeIntoComponent(Component component, String text) {
         focuser.requestFocusOn(component);
-        QueueingKeyAdapter queuer;
-        
-        for (int i = 0; i < text.length(); i++) {
-            if (component instanceof JComboBox && ((JComboBox) component).isEditable()) {
-                queuer = new QueueingKeyAdapter(((JComboBox) component).getEditor().getEditorComponent(), speed);
-            } else {
-                queuer = new QueueingKeyAdapter(component, speed);
-            }
-            postKeyEvent(component, text.charAt(i));
-            queuer.waitForEvent();
-        }
+        driver.typeText(component, receiverFor(component), text);
+    }
+    
+    /**
+     * Types the text a batch of characters at a time, waiting once for each batch to be
+     * typed rather than once for every character. Use this for long text, where
+     * watching each character arrive isn't needed.
+     */
+    public void typeIntoComponentInBatches(Component component, String text) {
+        focuser.requestFocusOn(component);
+        driver.typeTextInBatches(component, receiverFor(component), text);
     }
     
     /**
@@ -53,69 +50,32 @@ public class CharacterTyper {
      * (eg: as a game control key) rather than being typed into a text component.
      */
     public void pressKeychar(Window window, char key) throws TimeoutException {
-        QueueingKeyAdapter queuer = null;
-        
-        if(window instanceof JFrame) {
-            Container contentPane = ((JFrame)window).getContentPane();
-            if (contentPane instanceof JComponent) {
-                queuer = new QueueingKeyAdapter(contentPane, speed);
-                focuser.requestFocusOn(contentPane);
-            }
-        } else {
-            queuer = new QueueingKeyAdapter(window.getFocusOwner(), speed);
-            focuser.requestFocusOn(window.getFocusOwner());
-        }
-        
-        postKeyEvent(window, key);
-        queuer.waitForEvent();
+        driver.pressKeychar(window, focusKeyReceiverIn(window), key);
     }
 
     public void pressKeycode(Window window, int keycode) {
-        QueueingKeyAdapter queuer = null;
+        driver.pressKeycode(window, focusKeyReceiverIn(window), keycode);
+    }
+
+    private Component receiverFor(Component component) {
+        if (component instanceof JComboBox && ((JComboBox) component).isEditable()) {
+            return ((JComboBox) component).getEditor().getEditorComponent();
+        }
+        return component;
+    }
+
+    private Component focusKeyReceiverIn(Window window) {
+        Component receiver = null;
         
         if(window instanceof JFrame) {
             Container contentPane = ((JFrame)window).getContentPane();
             if (contentPane instanceof JComponent) {
-                queuer = new QueueingKeyAdapter(contentPane, speed);
-                focuser.requestFocusOn(contentPane);
+                receiver = contentPane;
             }
         } else {
-            queuer = new QueueingKeyAdapter(window.getFocusOwner(), speed);
-            focuser.requestFocusOn(window.getFocusOwner());
+            receiver = window.getFocusOwner();
         }
-        
-        postKeycodeEvent(window, keycode);
-        queuer.waitForEvent();
-    }
-
-    private void postKeycodeEvent(Window window, int keycode) {
-        sysQueue.postEvent(createKeyPressEvent(window, keycode, KeyEvent.KEY_PRESSED));
-        sysQueue.postEvent(createKeyPressEvent(window, keycode, KeyEvent.KEY_RELEASED));  
-        idler.waitForIdle();
-    }
-
-    private void postKeyEvent(final Component component, final char key) {
-        sysQueue.postEvent(createKeyPressEvent(component, key, KeyEvent.KEY_PRESSED));
-        sysQueue.postEvent(createKeyPressEvent(component, key, KeyEvent.KEY_RELEASED));
-        sysQueue.postEvent(createKeyPressEvent(component, key, KeyEvent.KEY_TYPED));    
-        idler.waitForIdle();
-    }
-    
-    private AWTEvent createKeyPressEvent(Component component, char c, int id) {
-        return new KeyEvent(component, 
-                id, 
-                System.currentTimeMillis(),
-                0,
-                KeyEvent.VK_UNDEFINED,
-                c);
-    }
-    
-    private AWTEvent createKeyPressEvent(Component component, int keycode, int id) {
-        return new KeyEvent(component, 
-                id, 
-                System.currentTimeMillis(),
-                0,
-                keycode,
-                KeyEvent.CHAR_UNDEFINED);
+        focuser.requestFocusOn(receiver);
+        return receiver;
     }
 }
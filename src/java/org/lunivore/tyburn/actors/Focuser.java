@@ -1,23 +1,27 @@
 package org.lunivore.tyburn.actors;
 
+import java.awt.AWTEvent;
 import java.awt.Component;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 
 import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
 
 
 public class Focuser {
 
     private final Speed speed;
+    private final ParkingObjectHolder<AWTEvent> holder;
 
     public Focuser(Speed speed) {
 		this.speed = speed;
+		this.holder = new ParkingObjectHolder<AWTEvent>(speed.getTimeouterFactory());
 	}
     
 	public void requestFocusOn(Component component) {
         if (!component.hasFocus()) {
-            QueueingFocusListener focusListener = new QueueingFocusListener(component, speed);
+            QueueingFocusListener focusListener = new QueueingFocusListener(component, speed, holder);
             component.requestFocus();
             focusListener.waitForEvent();
         }
@@ -25,8 +29,8 @@ public class Focuser {
 
     private class QueueingFocusListener extends QueueingComponentListener<Component> implements FocusListener {
         
-        public QueueingFocusListener(Component component, Speed speed) {
-            super(component, "FocusEvent", speed);
+        public QueueingFocusListener(Component component, Speed speed, ParkingObjectHolder<AWTEvent> holder) {
+            super(component, "FocusEvent", speed, holder);
         }
         
         public void focusGained(FocusEvent e) {
@@ -0,0 +1,75 @@
+package org.lunivore.tyburn.actors;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the events which the event dispatch thread dispatches, so that an idler can
+ * tell whether anything at all has happened since the application was last found to
+ * be idle, and skip the trip to the event dispatch thread if it hasn't.
+ * 
+ * Only one tracker is installed, on top of the system event queue, and shared by every
+ * idler which asks for it. If the application pushes an event queue of its own on top of
+ * it, the tracker can no longer see what's dispatched, and never claims that the
+ * application is idle. Uninstall it to put the system event queue back as it was.
+ */
+public class IdleTracker extends EventQueue {
+
+    private static IdleTracker installed;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private volatile long idleAfter = -1;
+
+    public static synchronized IdleTracker install() {
+        if (installed == null) {
+            installed = new IdleTracker();
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+        }
+        return installed;
+    }
+
+    /**
+     * Pops the tracker off the system event queue, if it's installed and nothing has been
+     * pushed on top of it since. Idlers which still hold it will no longer skip any trips.
+     */
+    public static synchronized void uninstall() {
+        if (installed != null && Toolkit.getDefaultToolkit().getSystemEventQueue() == installed) {
+            installed.pop();
+            installed = null;
+        }
+    }
+
+    private IdleTracker() {}
+
+    protected void dispatchEvent(AWTEvent event) {
+        dispatched.incrementAndGet();
+        super.dispatchEvent(event);
+    }
+
+    /**
+     * @return the number of events dispatched since the tracker was installed,
+     * including the trips which idlers make to the event dispatch thread.
+     */
+    public long getDispatched() {
+        return dispatched.get();
+    }
+
+    /**
+     * Call this from the event dispatch thread when the queue has been found empty.
+     */
+    public void idleConfirmed() {
+        idleAfter = dispatched.get();
+    }
+
+    /**
+     * @return true if nothing has been dispatched since the application was last
+     * confirmed to be idle, and nothing is waiting to be.
+     */
+    public boolean isStillIdle() {
+        return Toolkit.getDefaultToolkit().getSystemEventQueue() == this 
+            && idleAfter == dispatched.get() 
+            && peekEvent() == null;
+    }
+}
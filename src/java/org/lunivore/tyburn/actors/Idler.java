@@ -1,17 +1,122 @@
 package org.lunivore.tyburn.actors;
 
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import javax.swing.SwingUtilities;
 
+/**
+ * Waits for the application to be idle. One trip to the event dispatch thread only
+ * proves that events posted before it have been handled, so the idler keeps going
+ * back until it finds the event queue empty, catching anything the application posts
+ * in turn (invokeLater chains, repaints, which the RepaintManager posts as events too,
+ * and so on). Applications which never stop posting events, eg: with animations,
+ * would keep it waiting forever, so it gives up after a maximum number of trips.
+ * 
+ * Idlers can be asked to coalesce idles: if nothing has been dispatched or posted since
+ * any such idler last found the queue empty, the idler doesn't go at all. This installs
+ * an IdleTracker on top of the system event queue, which stays there until it's
+ * uninstalled, so it's off unless asked for.
+ * 
+ * The idler counts its trips, so that tests can see how hard it has to work.
+ */
 public class Idler {
     
-    private static final Runnable EMPTY_RUNNABLE = new Runnable() { public void run() {}};
+    public static final int DEFAULT_MAX_ROUND_TRIPS = 50;
+
+    private final int maxRoundTrips;
+    private final IdleTracker tracker;
+    private final AtomicLong idles = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong idlesCutShort = new AtomicLong();
+    private final AtomicLong idlesSkipped = new AtomicLong();
+    private volatile int roundTripsForLastIdle;
 
     public Idler() {
+        this(DEFAULT_MAX_ROUND_TRIPS);
+    }
+    
+    public Idler(boolean coalesceIdles) {
+        this(DEFAULT_MAX_ROUND_TRIPS, coalesceIdles);
+    }
+    
+    public Idler(int maxRoundTrips) {
+        this(maxRoundTrips, false);
+    }
+    
+    /**
+     * @param coalesceIdles whether to skip the trip if nothing has happened since the
+     * application was last found to be idle - see IdleTracker.
+     */
+    public Idler(int maxRoundTrips, boolean coalesceIdles) {
+        this.maxRoundTrips = maxRoundTrips;
+        tracker = coalesceIdles ? IdleTracker.install() : null;
     }
     
     public void waitForIdle() {
+        if (EventQueue.isDispatchThread()) {
+            // Nothing else can be handled until we return.
+            return;
+        }
+        idles.incrementAndGet();
+        if (tracker != null && tracker.isStillIdle()) {
+            idlesSkipped.incrementAndGet();
+            roundTripsForLastIdle = 0;
+            return;
+        }
+        QueueChecker checker = new QueueChecker();
+        int trips = 0;
         try {
-            SwingUtilities.invokeAndWait(EMPTY_RUNNABLE);
+            do {
+                SwingUtilities.invokeAndWait(checker);
+                trips++;
+            } while (!checker.queueWasEmpty && trips < maxRoundTrips);
         } catch (Exception ignored) {}
+        
+        roundTrips.addAndGet(trips);
+        roundTripsForLastIdle = trips;
+        if (!checker.queueWasEmpty) {
+            idlesCutShort.incrementAndGet();
+        }
+    }
+
+    public long getIdles() {
+        return idles.get();
+    }
+
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public int getRoundTripsForLastIdle() {
+        return roundTripsForLastIdle;
+    }
+
+    /**
+     * @return the number of idles which gave up after the maximum number of trips,
+     * with events still on the queue.
+     */
+    public long getIdlesCutShort() {
+        return idlesCutShort.get();
+    }
+
+    /**
+     * @return the number of idles which didn't need a trip, because nothing had happened
+     * since the application was last found to be idle.
+     */
+    public long getIdlesSkipped() {
+        return idlesSkipped.get();
+    }
+
+    private class QueueChecker implements Runnable {
+        private volatile boolean queueWasEmpty;
+        
+        public void run() {
+            queueWasEmpty = Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() == null;
+            if (queueWasEmpty && tracker != null) {
+                tracker.idleConfirmed();
+            }
+        }
     }
 }
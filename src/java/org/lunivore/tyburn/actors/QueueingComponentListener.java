@@ -4,7 +4,7 @@ import java.awt.AWTEvent;
 import java.awt.Component;
 
 import org.lunivore.tyburn.Speed;
-import org.lunivore.tyburn.threaded.QueuedObjectHolder;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
 import org.lunivore.tyburn.threaded.TimeoutException;
 
 /**
@@ -12,30 +12,39 @@ import org.lunivore.tyburn.threaded.TimeoutException;
  * the component when created, and remove itself if the event is sensed or if it times out.
  * The actual implementation of adding, removing and sensing the event is up to the
  * subclass; see 
+ * 
+ * Actors which sense events repeatedly should pass in a holder of their own, which
+ * will be cleared and reused for each event rather than a new one being created.
  */
 public abstract class QueueingComponentListener<T extends Component> {
     
-	private QueuedObjectHolder<AWTEvent> holder = new QueuedObjectHolder<AWTEvent>();
-    private Idler idler = new Idler();
+	private final ParkingObjectHolder<AWTEvent> holder;
+    private final Idler idler;
     protected final T component;
     private String eventType;
 	private final Speed speed;
 
     public QueueingComponentListener(T component, String eventType, Speed speed) {
+        this(component, eventType, speed, new ParkingObjectHolder<AWTEvent>(speed.getTimeouterFactory()));
+    }
+
+    public QueueingComponentListener(T component, String eventType, Speed speed, ParkingObjectHolder<AWTEvent> holder) {
         this.component = component;
         this.eventType = eventType;
 		this.speed = speed;
+        this.idler = new Idler(speed.isCoalescingIdles());
+        this.holder = holder;
+        holder.clear();
         addSelfToComponent();
     }
 
     public void waitForEvent() {
         try {
-            holder.get(1000);
+            holder.take(1000);
         } catch (TimeoutException e) {
             removeSelfFromComponent();
             throw new RuntimeException("Expected " + eventType + " on component " + component.getName() + " was not received");
         }
-        holder.clear();
         removeSelfFromComponent();
         idler.waitForIdle();
         speed.holdBack();
@@ -0,0 +1,114 @@
+package org.lunivore.tyburn.actors;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.util.List;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.threaded.EventMatcher;
+import org.lunivore.tyburn.threaded.QueuedEventRecorder;
+import org.lunivore.tyburn.threaded.TimeoutException;
+
+/**
+ * Used by actors which post a burst of events and want to wait for all of them
+ * at once. Unlike the QueueingComponentListener, this listener records every event
+ * it senses, and stays on the component until told to stop recording, so that
+ * no events are lost between one wait and the next. Attach it before posting
+ * the events it should see.
+ * 
+ * By default every event sensed is recorded; pass in event ids to record only those.
+ */
+public abstract class RecordingComponentListener<T extends Component> {
+
+    private static final long TIMEOUT = 1000;
+
+    private final QueuedEventRecorder<AWTEvent> recorder;
+    private final Idler idler;
+    protected final T component;
+    private final String eventType;
+    private final Speed speed;
+    private final int[] recordedIds;
+
+    public RecordingComponentListener(T component, String eventType, Speed speed) {
+        this(component, eventType, speed, QueuedEventRecorder.DEFAULT_CAPACITY);
+    }
+
+    public RecordingComponentListener(T component, String eventType, Speed speed, int capacity) {
+        this(component, eventType, speed, capacity, new int[0]);
+    }
+
+    public RecordingComponentListener(T component, String eventType, Speed speed, int[] recordedIds) {
+        this(component, eventType, speed, QueuedEventRecorder.DEFAULT_CAPACITY, recordedIds);
+    }
+
+    /**
+     * @param recordedIds the ids of the events to record, eg: KeyEvent.KEY_TYPED, or
+     * none to record every event. These are in place before the listener is attached,
+     * so nothing else can slip in.
+     */
+    public RecordingComponentListener(T component, String eventType, Speed speed, int capacity, int[] recordedIds) {
+        this.component = component;
+        this.eventType = eventType;
+        this.speed = speed;
+        this.idler = new Idler(speed.isCoalescingIdles());
+        this.recordedIds = recordedIds.clone();
+        this.recorder = new QueuedEventRecorder<AWTEvent>(capacity, speed.getTimeouterFactory(), TIMEOUT);
+        addSelfToComponent();
+    }
+
+    /**
+     * Waits for the given number of events, then for the application to be idle.
+     */
+    public List<AWTEvent> awaitCount(int count) {
+        try {
+            List<AWTEvent> events = recorder.awaitCount(count, TIMEOUT);
+            idler.waitForIdle();
+            speed.holdBack();
+            return events;
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Expected " + count + " " + eventType + "s on component " + component.getName()
+                    + " but only " + recorder.size() + " were received");
+        }
+    }
+
+    /**
+     * Waits for an event which matches, then for the application to be idle.
+     */
+    public AWTEvent awaitMatching(EventMatcher<? super AWTEvent> matcher) {
+        try {
+            AWTEvent event = recorder.awaitMatching(matcher, TIMEOUT);
+            idler.waitForIdle();
+            speed.holdBack();
+            return event;
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Expected " + eventType + " matching " + matcher + " on component "
+                    + component.getName() + " was not received");
+        }
+    }
+
+    public void stopRecording() {
+        removeSelfFromComponent();
+    }
+
+    protected abstract void addSelfToComponent();
+
+    protected abstract void removeSelfFromComponent();
+
+    public void eventOccurred(AWTEvent e) {
+        if (isRecorded(e)) {
+            recorder.record(e);
+        }
+    }
+
+    private boolean isRecorded(AWTEvent e) {
+        if (recordedIds.length == 0) {
+            return true;
+        }
+        for (int id : recordedIds) {
+            if (e.getID() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,9 +6,10 @@ import java.awt.Window;
 import java.awt.event.AWTEventListener;
 import java.awt.event.WindowEvent;
 
-import org.lunivore.tyburn.threaded.QueuedMiniHashMap;
+import org.lunivore.tyburn.threaded.QueuedMiniConcurrentMap;
 import org.lunivore.tyburn.threaded.QueuedMiniMap;
 import org.lunivore.tyburn.threaded.TimeoutException;
+import org.lunivore.tyburn.threaded.TimeouterFactory;
 
 
 
@@ -22,7 +23,7 @@ public class WindowGrabber {
     private AWTEventListener windowWatcher = new WindowWatcher();
     
     public WindowGrabber() {
-        this(new QueuedMiniHashMap<String, Window>());
+        this(new QueuedMiniConcurrentMap<String, Window>());
     }
     
     public WindowGrabber(QueuedMiniMap<String, Window> miniMap) {
@@ -36,6 +37,13 @@ public class WindowGrabber {
     public Window getWindow(String title, long timeout) throws TimeoutException {
         return (Window)miniMap.get(title, timeout);
     }
+
+    /**
+     * @param timeouterFactory times the wait out, eg: in virtual time.
+     */
+    public Window getWindow(String title, long timeout, TimeouterFactory timeouterFactory) throws TimeoutException {
+        return (Window)miniMap.get(title, timeout, timeouterFactory);
+    }
     
     public void dispose() {
         Toolkit.getDefaultToolkit().removeAWTEventListener(windowWatcher);
@@ -0,0 +1,34 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.util.List;
+
+/**
+ * The whole ascii grid for a frame, along with the cells which changed since
+ * the frame before it.
+ */
+public class AsciiGridFrame {
+
+	private final String grid;
+	private final List<ChangedCell> changedCells;
+
+	public AsciiGridFrame(String grid, List<ChangedCell> changedCells) {
+		this.grid = grid;
+		this.changedCells = changedCells;
+	}
+
+	public String getGrid() {
+		return grid;
+	}
+
+	public List<ChangedCell> getChangedCells() {
+		return changedCells;
+	}
+
+	public boolean hasChanged() {
+		return !changedCells.isEmpty();
+	}
+
+	public String toString() {
+		return grid;
+	}
+}
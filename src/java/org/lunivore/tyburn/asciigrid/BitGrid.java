@@ -0,0 +1,150 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.util.Arrays;
+
+/**
+ * A grid of cells which are either set or not, eg: alive or dead in the Game
+ * of Life, packed 64 cells to a long. Two grids can be compared or diffed a
+ * word at a time rather than a character at a time.</p>
+ *
+ * <p>Each row starts on a new long, and the bits past the end of a row are
+ * always clear, so that whole rows can be compared and counted without masking.
+ * Grids are immutable.</p>
+ */
+public class BitGrid {
+
+	private static final String NL = System.getProperty("line.separator");
+	static final int BITS_PER_WORD = 64;
+
+	private final int noOfRows;
+	private final int noOfCols;
+	private final int wordsPerRow;
+	private final long[] words;
+
+	BitGrid(int noOfRows, int noOfCols, long[] words) {
+		this.noOfRows = noOfRows;
+		this.noOfCols = noOfCols;
+		this.wordsPerRow = wordsPerRow(noOfCols);
+		this.words = words;
+	}
+
+	static int wordsPerRow(int noOfCols) {
+		return (noOfCols + BITS_PER_WORD - 1) / BITS_PER_WORD;
+	}
+
+	/**
+	 * Reads a grid written in the ascii format produced by the ImageToAsciiGridConverter,
+	 * with any kind of line separator. Cells whose character is the one given are set.
+	 */
+	public static BitGrid fromAscii(String ascii, char set) {
+		String[] lines = ascii.length() == 0 ? new String[0] : ascii.split("\r\n|\r|\n", -1);
+		int noOfCols = lines.length == 0 ? 0 : lines[0].length();
+		int wordsPerRow = wordsPerRow(noOfCols);
+		long[] words = new long[lines.length * wordsPerRow];
+
+		for (int row = 0; row < lines.length; row++) {
+			if (lines[row].length() != noOfCols) {
+				throw new IllegalArgumentException("Row " + row + " has " + lines[row].length()
+						+ " cells but the first row has " + noOfCols);
+			}
+			for (int col = 0; col < noOfCols; col++) {
+				if (lines[row].charAt(col) == set) {
+					words[(row * wordsPerRow) + (col / BITS_PER_WORD)] |= 1L << col;
+				}
+			}
+		}
+		return new BitGrid(lines.length, noOfCols, words);
+	}
+
+	public int getNoOfRows() {
+		return noOfRows;
+	}
+
+	public int getNoOfCols() {
+		return noOfCols;
+	}
+
+	public boolean isSet(int row, int col) {
+		if (row < 0 || row >= noOfRows || col < 0 || col >= noOfCols) {
+			throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside a grid of "
+					+ noOfRows + " rows and " + noOfCols + " cols");
+		}
+		return (words[(row * wordsPerRow) + (col / BITS_PER_WORD)] & (1L << col)) != 0;
+	}
+
+	/**
+	 * @return the number of cells which are set.
+	 */
+	public int populationCount() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of the eight cells around the one given which are set.
+	 * Cells beyond the edges of the grid count as not set.
+	 */
+	public int countNeighboursOf(int row, int col) {
+		int count = 0;
+		for (int neighbourRow = Math.max(row - 1, 0); neighbourRow <= Math.min(row + 1, noOfRows - 1); neighbourRow++) {
+			for (int neighbourCol = Math.max(col - 1, 0); neighbourCol <= Math.min(col + 1, noOfCols - 1); neighbourCol++) {
+				if ((neighbourRow != row || neighbourCol != col) && isSet(neighbourRow, neighbourCol)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return a grid in which the cells that differ between this grid and the other are set.
+	 */
+	public BitGrid xor(BitGrid other) {
+		checkSameSizeAs(other);
+		long[] diff = new long[words.length];
+		for (int i = 0; i < words.length; i++) {
+			diff[i] = words[i] ^ other.words[i];
+		}
+		return new BitGrid(noOfRows, noOfCols, diff);
+	}
+
+	public String toAscii(char set, char unset) {
+		if (noOfRows == 0) { return ""; }
+		char[] grid = new char[(noOfRows * noOfCols) + ((noOfRows - 1) * NL.length())];
+		int position = 0;
+		for (int row = 0; row < noOfRows; row++) {
+			for (int col = 0; col < noOfCols; col++) {
+				grid[position++] = isSet(row, col) ? set : unset;
+			}
+			if (row < noOfRows - 1) {
+				NL.getChars(0, NL.length(), grid, position);
+				position += NL.length();
+			}
+		}
+		return new String(grid);
+	}
+
+	private void checkSameSizeAs(BitGrid other) {
+		if (noOfRows != other.noOfRows || noOfCols != other.noOfCols) {
+			throw new IllegalArgumentException("Cannot compare a grid of " + noOfRows + "x" + noOfCols
+					+ " with one of " + other.noOfRows + "x" + other.noOfCols);
+		}
+	}
+
+	public boolean equals(Object obj) {
+		if (!(obj instanceof BitGrid)) { return false; }
+		BitGrid other = (BitGrid) obj;
+		return noOfRows == other.noOfRows && noOfCols == other.noOfCols && Arrays.equals(words, other.words);
+	}
+
+	public int hashCode() {
+		return (noOfRows * 31 + noOfCols) * 31 + Arrays.hashCode(words);
+	}
+
+	public String toString() {
+		return toAscii('X', '.');
+	}
+}
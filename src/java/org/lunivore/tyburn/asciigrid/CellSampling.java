@@ -0,0 +1,22 @@
+package org.lunivore.tyburn.asciigrid;
+
+/**
+ * How the ImageToAsciiGridConverter decides which character represents a cell.
+ */
+public enum CellSampling {
+	/**
+	 * Uses the colour of the pixel in the centre of the cell.
+	 */
+	CENTRE,
+
+	/**
+	 * Uses the character which the most samples in the cell are represented by.
+	 * If there's a tie, the character sampled first (from the top left) wins.
+	 */
+	MAJORITY,
+
+	/**
+	 * Uses the average colour of the samples in the cell.
+	 */
+	MEAN
+}
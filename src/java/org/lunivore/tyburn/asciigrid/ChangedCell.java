@@ -0,0 +1,49 @@
+package org.lunivore.tyburn.asciigrid;
+
+/**
+ * A cell whose character is different from the one it had in the last frame.
+ */
+public class ChangedCell {
+
+	private final int row;
+	private final int col;
+	private final char was;
+	private final char is;
+
+	public ChangedCell(int row, int col, char was, char is) {
+		this.row = row;
+		this.col = col;
+		this.was = was;
+		this.is = is;
+	}
+
+	public int getRow() {
+		return row;
+	}
+
+	public int getCol() {
+		return col;
+	}
+
+	public char getWas() {
+		return was;
+	}
+
+	public char getIs() {
+		return is;
+	}
+
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ChangedCell)) { return false; }
+		ChangedCell other = (ChangedCell) obj;
+		return row == other.row && col == other.col && was == other.was && is == other.is;
+	}
+
+	public int hashCode() {
+		return (((row * 31) + col) * 31 + was) * 31 + is;
+	}
+
+	public String toString() {
+		return "(" + row + ", " + col + ") '" + was + "' -> '" + is + "'";
+	}
+}
@@ -4,10 +4,23 @@ import java.awt.Color;
 
 public interface ColorScheme {
 
+	/**
+	 * Represents black, exactly, as 'X', and every other colour as '.'.
+	 */
 	public static final ColorScheme BLACK_ON_WHITE = new ColorScheme() {
-		public char getCharRepresentationOf(int color) { return Color.BLACK.getRGB() == color ? 'X' : '.';  }
+		private final int black = Color.BLACK.getRGB();
+		public char getCharRepresentationOf(int color) { return black == color ? 'X' : '.';  }
 	};
 
+	/**
+	 * Represents colours nearer black than white as 'X', and the rest as '.', so that
+	 * anti-aliased edges come out as part of what was drawn.
+	 */
+	public static final ColorScheme NEAREST_BLACK_ON_WHITE = new PaletteColorScheme.Builder()
+		.map(Color.BLACK, 'X')
+		.map(Color.WHITE, '.')
+		.build();
+
 	char getCharRepresentationOf(int color);
 
 }
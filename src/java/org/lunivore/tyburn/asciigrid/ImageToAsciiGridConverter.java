@@ -2,6 +2,8 @@ package org.lunivore.tyburn.asciigrid;
 
 
 import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Converts an image to a string by looking at the centre
@@ -22,36 +24,222 @@ import java.awt.image.BufferedImage;
  * <p>System.getProperty("new.line") is appended after each line, except that
  * there is no new line after the last line. This allows it to work well with
  * JBehave, which sees no new lines after multi-line arguments.</p>
+ * 
+ * <p>Pixels of TYPE_INT_RGB, TYPE_INT_ARGB and TYPE_3BYTE_BGR images are read
+ * straight from the image's data buffer; other images are read through their
+ * color model, which is slower but gives the same colours.</p>
+ * 
+ * <p>Grids with more cells than the parallel threshold are converted in
+ * stripes of rows on the common fork-join pool, so the color scheme must be
+ * safe to use from more than one thread. Pass Integer.MAX_VALUE as the
+ * threshold to always convert on the calling thread.</p>
+ * 
+ * <p>Looking only at the centre pixel means a render which is out by a pixel
+ * can change the grid. To avoid that, give a CellSampling of MAJORITY, which
+ * represents each cell by the character most of its samples have, or MEAN,
+ * which represents it by the average colour of its samples.</p>
  */
 public class ImageToAsciiGridConverter {
 
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 250000;
+	public static final int WHOLE_CELL = Integer.MAX_VALUE;
+	private static final int CELLS_PER_STRIPE = 32768;
+
 	private static final String NL = System.getProperty("line.separator");
 	private final ColorScheme colorScheme;
+	private final CellSampling sampling;
+	private final int samplesPerSide;
+	private final int parallelThreshold;
 
 	public ImageToAsciiGridConverter(ColorScheme colorScheme) {
+		this(colorScheme, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * @param parallelThreshold the number of cells above which the grid is
+	 * converted in parallel.
+	 */
+	public ImageToAsciiGridConverter(ColorScheme colorScheme, int parallelThreshold) {
+		this(colorScheme, CellSampling.CENTRE, 1, parallelThreshold);
+	}
+
+	/**
+	 * @param samplesPerSide the number of pixels to sample along each side of a
+	 * cell, evenly spaced, or WHOLE_CELL to sample every pixel.
+	 */
+	public ImageToAsciiGridConverter(ColorScheme colorScheme, CellSampling sampling, int samplesPerSide) {
+		this(colorScheme, sampling, samplesPerSide, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	public ImageToAsciiGridConverter(ColorScheme colorScheme, CellSampling sampling, int samplesPerSide, int parallelThreshold) {
+		if (samplesPerSide < 1) {
+			throw new IllegalArgumentException("Need at least one sample per side, but was given " + samplesPerSide);
+		}
 		this.colorScheme = colorScheme;
+		this.sampling = sampling;
+		this.samplesPerSide = sampling == CellSampling.CENTRE ? 1 : samplesPerSide;
+		this.parallelThreshold = parallelThreshold;
 	}
 
 	public String convert(BufferedImage image, int scale) {
-		StringBuilder builder = new StringBuilder();
-		
-		int noOfRows = (image.getHeight() / scale);
-		int noOfCols = image.getWidth() / scale;
-
-		for (int row = 0; row < noOfRows; row++) {
-			for (int col = 0; col < noOfCols; col++) {
-				int x = (col * scale) + (scale / 2);
-				int y = (row * scale) + (scale / 2);
-				int color = image.getRGB(x, y);
-				builder.append(getStringRepresentationOf(color));
+		return convert(image, scale, scale);
+	}
+
+	/**
+	 * Converts an image whose cells are not square.
+	 */
+	public String convert(BufferedImage image, int xScale, int yScale) {
+		int noOfRows = image.getHeight() / yScale;
+		int noOfCols = image.getWidth() / xScale;
+		if (noOfRows == 0) { return ""; }
+
+		Cells cells = new Cells(PixelReader.forImage(image), xScale, yScale, noOfRows, noOfCols);
+		if ((long) noOfRows * noOfCols > parallelThreshold) {
+			ForkJoinPool.commonPool().invoke(new RowStripe(cells, 0, noOfRows));
+		} else {
+			convertRows(cells, 0, noOfRows);
+		}
+		return new String(cells.grid);
+	}
+
+	private void convertRows(Cells cells, int fromRow, int toRow) {
+		int lineLength = cells.noOfCols + NL.length();
+		char[] votedChars = new char[cells.xOffsets.length * cells.yOffsets.length];
+		int[] votes = new int[votedChars.length];
+
+		for (int row = fromRow; row < toRow; row++) {
+			int position = row * lineLength;
+			int top = row * cells.yScale;
+			for (int col = 0; col < cells.noOfCols; col++) {
+				cells.grid[position++] = convertCell(cells.pixels, col * cells.xScale, top,
+						cells.xOffsets, cells.yOffsets, votedChars, votes);
+			}
+			if (row < cells.noOfRows - 1) { NL.getChars(0, NL.length(), cells.grid, position); }
+		}
+	}
+
+	/**
+	 * @return the character for the cell whose top left pixel is given, sampled at
+	 * the offsets given. The voted chars and votes are somewhere to count the votes
+	 * for MAJORITY, as long as there are samples, so each thread needs its own.
+	 */
+	char convertCell(PixelReader pixels, int left, int top, int[] xOffsets, int[] yOffsets, char[] votedChars, int[] votes) {
+		switch (sampling) {
+		case MAJORITY:
+			return majorityIn(pixels, left, top, xOffsets, yOffsets, votedChars, votes);
+		case MEAN:
+			return getStringRepresentationOf(meanIn(pixels, left, top, xOffsets, yOffsets));
+		default:
+			return getStringRepresentationOf(pixels.rgbAt(left + xOffsets[0], top + yOffsets[0]));
+		}
+	}
+
+	private char majorityIn(PixelReader pixels, int left, int top, int[] xOffsets, int[] yOffsets,
+			char[] votedChars, int[] votes) {
+		int candidates = 0;
+		for (int yOffset : yOffsets) {
+			for (int xOffset : xOffsets) {
+				char vote = getStringRepresentationOf(pixels.rgbAt(left + xOffset, top + yOffset));
+				int candidate = 0;
+				while (candidate < candidates && votedChars[candidate] != vote) { candidate++; }
+				if (candidate == candidates) {
+					votedChars[candidates] = vote;
+					votes[candidates++] = 0;
+				}
+				votes[candidate]++;
 			}
-			if (row < noOfRows - 1) { builder.append(NL); }
 		}
-		return builder.toString();
+
+		int winner = 0;
+		for (int candidate = 1; candidate < candidates; candidate++) {
+			if (votes[candidate] > votes[winner]) { winner = candidate; }
+		}
+		return votedChars[winner];
+	}
+
+	private int meanIn(PixelReader pixels, int left, int top, int[] xOffsets, int[] yOffsets) {
+		int red = 0;
+		int green = 0;
+		int blue = 0;
+		for (int yOffset : yOffsets) {
+			for (int xOffset : xOffsets) {
+				int color = pixels.rgbAt(left + xOffset, top + yOffset);
+				red += (color >> 16) & 0xFF;
+				green += (color >> 8) & 0xFF;
+				blue += color & 0xFF;
+			}
+		}
+		int samples = xOffsets.length * yOffsets.length;
+		return 0xFF000000 | ((red / samples) << 16) | ((green / samples) << 8) | (blue / samples);
 	}
 
 	protected char getStringRepresentationOf(int color) {
 		return colorScheme.getCharRepresentationOf(color);
 	}
 
+	/**
+	 * @return where to sample along one side of a cell, evenly spaced from its
+	 * start. A single sample is in the centre.
+	 */
+	int[] sampleOffsetsFor(int scale) {
+		int samples = Math.min(samplesPerSide, scale);
+		int[] offsets = new int[samples];
+		for (int i = 0; i < samples; i++) {
+			offsets[i] = (int) ((((2L * i) + 1) * scale) / (2L * samples));
+		}
+		return offsets;
+	}
+
+	/**
+	 * The image being converted, and the grid it's being converted into.
+	 */
+	private class Cells {
+		private final PixelReader pixels;
+		private final int xScale;
+		private final int yScale;
+		private final int noOfRows;
+		private final int noOfCols;
+		private final int[] xOffsets;
+		private final int[] yOffsets;
+		private final char[] grid;
+
+		public Cells(PixelReader pixels, int xScale, int yScale, int noOfRows, int noOfCols) {
+			this.pixels = pixels;
+			this.xScale = xScale;
+			this.yScale = yScale;
+			this.noOfRows = noOfRows;
+			this.noOfCols = noOfCols;
+			this.xOffsets = sampleOffsetsFor(xScale);
+			this.yOffsets = sampleOffsetsFor(yScale);
+			this.grid = new char[(noOfRows * noOfCols) + ((noOfRows - 1) * NL.length())];
+		}
+	}
+
+	/**
+	 * Converts its rows, splitting them in half until there are few enough cells
+	 * to be worth converting on one thread. Each stripe writes only its own rows
+	 * and the new lines after them, so stripes never write to the same chars.
+	 */
+	@SuppressWarnings("serial")
+	private class RowStripe extends RecursiveAction {
+		private final Cells cells;
+		private final int fromRow;
+		private final int toRow;
+
+		public RowStripe(Cells cells, int fromRow, int toRow) {
+			this.cells = cells;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		protected void compute() {
+			int rows = toRow - fromRow;
+			if (rows == 1 || (long) rows * cells.noOfCols <= CELLS_PER_STRIPE) {
+				convertRows(cells, fromRow, toRow);
+			} else {
+				int middle = fromRow + (rows / 2);
+				invokeAll(new RowStripe(cells, fromRow, middle), new RowStripe(cells, middle, toRow));
+			}
+		}
+	}
 }
@@ -0,0 +1,40 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Converts an image to a BitGrid by looking at the centre of each square, in
+ * the same way as the ImageToAsciiGridConverter. A cell is set if the color
+ * scheme gives it the character passed in (eg: 'X' for ColorScheme.BLACK_ON_WHITE).
+ * Use this for two-colour grids which are large, or which need to be compared often.
+ */
+public class ImageToBitGridConverter {
+
+	private final ColorScheme colorScheme;
+	private final char set;
+
+	public ImageToBitGridConverter(ColorScheme colorScheme, char set) {
+		this.colorScheme = colorScheme;
+		this.set = set;
+	}
+
+	public BitGrid convert(BufferedImage image, int scale) {
+		int noOfRows = image.getHeight() / scale;
+		int noOfCols = image.getWidth() / scale;
+		int wordsPerRow = BitGrid.wordsPerRow(noOfCols);
+		long[] words = new long[noOfRows * wordsPerRow];
+		PixelReader pixels = PixelReader.forImage(image);
+
+		for (int row = 0; row < noOfRows; row++) {
+			int y = (row * scale) + (scale / 2);
+			int rowStart = row * wordsPerRow;
+			for (int col = 0; col < noOfCols; col++) {
+				int x = (col * scale) + (scale / 2);
+				if (colorScheme.getCharRepresentationOf(pixels.rgbAt(x, y)) == set) {
+					words[rowStart + (col / BitGrid.BITS_PER_WORD)] |= 1L << col;
+				}
+			}
+		}
+		return new BitGrid(noOfRows, noOfCols, words);
+	}
+}
@@ -0,0 +1,162 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converts successive frames of the same image to ascii grids, in the same way
+ * as the ImageToAsciiGridConverter, but remembers the pixel it sampled for each
+ * cell last time. Only those cells whose pixel has changed are given to the
+ * color scheme again, and each frame comes back with a list of the cells whose
+ * characters have changed (eg: the cells which were born or died in a generation
+ * of the Game of Life).</p>
+ *
+ * <p>If you know which parts of the image might have changed (eg: from the
+ * rectangles repainted by the application) you can pass them in, and only the
+ * cells whose centres lie inside them will be looked at.</p>
+ *
+ * <p>With a CellSampling of MAJORITY or MEAN, each cell is sampled just as the
+ * ImageToAsciiGridConverter would sample it, so that both give the same grid.
+ * There's no single pixel to remember, so every cell which a dirty region
+ * touches at all is sampled again, and its character compared instead.</p>
+ *
+ * <p>On the first frame, or if the size of the grid changes, every cell is
+ * reported as having changed from a space. This converter keeps state between
+ * frames, so use one for each sequence of frames, and only from one thread.</p>
+ */
+public class IncrementalAsciiGridConverter {
+
+	private static final String NL = System.getProperty("line.separator");
+	private static final char NOTHING = ' ';
+
+	private final ColorScheme colorScheme;
+	private final CellSampling sampling;
+	private final ImageToAsciiGridConverter cellConverter;
+
+	private int noOfRows = -1;
+	private int noOfCols = -1;
+	private int scale = -1;
+	private int[] sampledPixels;
+	private char[] grid;
+	private int[] sampleOffsets;
+	private char[] votedChars;
+	private int[] votes;
+
+	public IncrementalAsciiGridConverter(ColorScheme colorScheme) {
+		this(colorScheme, CellSampling.CENTRE, 1);
+	}
+
+	/**
+	 * @param samplesPerSide the number of pixels to sample along each side of a
+	 * cell, as for the ImageToAsciiGridConverter.
+	 */
+	public IncrementalAsciiGridConverter(ColorScheme colorScheme, CellSampling sampling, int samplesPerSide) {
+		this.colorScheme = colorScheme;
+		this.sampling = sampling;
+		this.cellConverter = new ImageToAsciiGridConverter(colorScheme, sampling, samplesPerSide, Integer.MAX_VALUE);
+	}
+
+	public AsciiGridFrame convert(BufferedImage image, int scale) {
+		return convert(image, scale, Collections.singletonList(new Rectangle(0, 0, image.getWidth(), image.getHeight())));
+	}
+
+	/**
+	 * @param dirtyRegions the only parts of the image, in pixels, which may have
+	 * changed since the last frame. These are ignored if this is the first frame,
+	 * or if the grid has changed size.
+	 */
+	public AsciiGridFrame convert(BufferedImage image, int scale, List<Rectangle> dirtyRegions) {
+		PixelReader pixels = PixelReader.forImage(image);
+		List<ChangedCell> changedCells = new ArrayList<ChangedCell>();
+
+		if (resizeFor(image, scale)) {
+			convertCells(pixels, 0, noOfRows, 0, noOfCols, true, changedCells);
+		} else {
+			for (Rectangle region : dirtyRegions) {
+				if (sampling == CellSampling.CENTRE) {
+					convertCells(pixels,
+							firstCellCentredAtOrAfter(region.y), firstCellCentredAtOrAfter(region.y + region.height),
+							firstCellCentredAtOrAfter(region.x), firstCellCentredAtOrAfter(region.x + region.width),
+							false, changedCells);
+				} else {
+					convertCells(pixels,
+							cellContaining(region.y), cellContaining(region.y + region.height - 1) + 1,
+							cellContaining(region.x), cellContaining(region.x + region.width - 1) + 1,
+							false, changedCells);
+				}
+			}
+		}
+		return new AsciiGridFrame(new String(grid), changedCells);
+	}
+
+	private boolean resizeFor(BufferedImage image, int scale) {
+		int rows = image.getHeight() / scale;
+		int cols = image.getWidth() / scale;
+		if (rows == noOfRows && cols == noOfCols && scale == this.scale) {
+			return false;
+		}
+
+		this.noOfRows = rows;
+		this.noOfCols = cols;
+		this.scale = scale;
+		sampledPixels = new int[rows * cols];
+		sampleOffsets = cellConverter.sampleOffsetsFor(scale);
+		votedChars = new char[sampleOffsets.length * sampleOffsets.length];
+		votes = new int[votedChars.length];
+		grid = new char[rows == 0 ? 0 : (rows * cols) + ((rows - 1) * NL.length())];
+		for (int row = 0; row < rows - 1; row++) {
+			NL.getChars(0, NL.length(), grid, lineStartOf(row) + cols);
+		}
+		return true;
+	}
+
+	private void convertCells(PixelReader pixels, int fromRow, int toRow, int fromCol, int toCol,
+			boolean everyCell, List<ChangedCell> changedCells) {
+		fromRow = Math.max(fromRow, 0);
+		toRow = Math.min(toRow, noOfRows);
+		fromCol = Math.max(fromCol, 0);
+		toCol = Math.min(toCol, noOfCols);
+
+		for (int row = fromRow; row < toRow; row++) {
+			int y = (row * scale) + (scale / 2);
+			for (int col = fromCol; col < toCol; col++) {
+				char is;
+				if (sampling == CellSampling.CENTRE) {
+					int x = (col * scale) + (scale / 2);
+					int color = pixels.rgbAt(x, y);
+					int cell = (row * noOfCols) + col;
+					if (!everyCell && sampledPixels[cell] == color) {
+						continue;
+					}
+					sampledPixels[cell] = color;
+					is = colorScheme.getCharRepresentationOf(color);
+				} else {
+					is = cellConverter.convertCell(pixels, col * scale, row * scale,
+							sampleOffsets, sampleOffsets, votedChars, votes);
+				}
+				int position = lineStartOf(row) + col;
+				char was = everyCell ? NOTHING : grid[position];
+				grid[position] = is;
+				if (was != is) {
+					changedCells.add(new ChangedCell(row, col, was, is));
+				}
+			}
+		}
+	}
+
+	private int lineStartOf(int row) {
+		return row * (noOfCols + NL.length());
+	}
+
+	private int cellContaining(int pixel) {
+		return pixel <= 0 ? 0 : pixel / scale;
+	}
+
+	private int firstCellCentredAtOrAfter(int pixel) {
+		int fromCentre = pixel - (scale / 2);
+		return fromCentre <= 0 ? 0 : (fromCentre + scale - 1) / scale;
+	}
+}
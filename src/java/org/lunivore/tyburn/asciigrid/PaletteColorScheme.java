@@ -0,0 +1,142 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A color scheme which represents each colour by the character of the nearest
+ * colour in its palette, so that anti-aliased or themed renders still come out
+ * as the characters expected. If a tolerance is given, colours further than that
+ * from every colour in the palette are represented by the 'otherwise' character
+ * instead. Build one with, eg:
+ *
+ * <pre>
+ * new PaletteColorScheme.Builder()
+ *     .map(Color.BLACK, 'X')
+ *     .map(Color.WHITE, '.')
+ *     .withTolerance(64)
+ *     .otherwise('?')
+ *     .build();</pre></p>
+ *
+ * <p>Each colour's character is remembered once it has been worked out, so a
+ * colour seen before costs one look in the cache. The cache is safe to use from
+ * many threads at once. Alpha is ignored.</p>
+ */
+public class PaletteColorScheme implements ColorScheme {
+
+	private static final int CACHE_BITS = 12;
+	private static final int CACHE_SIZE = 1 << CACHE_BITS;
+	private static final int MAX_PROBES = 8;
+	private static final long OCCUPIED = 1L << 48;
+	private static final int RGB = 0xFFFFFF;
+
+	private final int[] colors;
+	private final char[] chars;
+	private final long maxDistanceSquared;
+	private final char otherwise;
+	private final AtomicLongArray cache = new AtomicLongArray(CACHE_SIZE);
+
+	private PaletteColorScheme(int[] colors, char[] chars, int tolerance, char otherwise) {
+		this.colors = colors;
+		this.chars = chars;
+		this.maxDistanceSquared = tolerance < 0 ? Long.MAX_VALUE : 3L * tolerance * tolerance;
+		this.otherwise = otherwise;
+	}
+
+	public char getCharRepresentationOf(int color) {
+		int rgb = color & RGB;
+		int slot = slotFor(rgb);
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int index = (slot + probe) & (CACHE_SIZE - 1);
+			long entry = cache.get(index);
+			if (entry == 0) {
+				char match = nearestTo(rgb);
+				if (cache.compareAndSet(index, 0, OCCUPIED | ((long) match << 32) | rgb)) {
+					return match;
+				}
+				entry = cache.get(index);
+			}
+			if ((int) (entry & RGB) == rgb) {
+				return (char) (entry >>> 32);
+			}
+		}
+		return nearestTo(rgb);
+	}
+
+	private int slotFor(int rgb) {
+		return (rgb * 0x9E3779B9) >>> (32 - CACHE_BITS);
+	}
+
+	private char nearestTo(int rgb) {
+		long nearestDistanceSquared = Long.MAX_VALUE;
+		char nearest = otherwise;
+		for (int i = 0; i < colors.length; i++) {
+			long distanceSquared = distanceSquared(rgb, colors[i]);
+			if (distanceSquared < nearestDistanceSquared) {
+				nearestDistanceSquared = distanceSquared;
+				nearest = chars[i];
+			}
+		}
+		return nearestDistanceSquared <= maxDistanceSquared ? nearest : otherwise;
+	}
+
+	private static long distanceSquared(int rgb, int other) {
+		int red = ((rgb >> 16) & 0xFF) - ((other >> 16) & 0xFF);
+		int green = ((rgb >> 8) & 0xFF) - ((other >> 8) & 0xFF);
+		int blue = (rgb & 0xFF) - (other & 0xFF);
+		return (red * red) + (green * green) + (blue * blue);
+	}
+
+	public static class Builder {
+		private final List<Integer> colors = new ArrayList<Integer>();
+		private final List<Character> chars = new ArrayList<Character>();
+		private int tolerance = -1;
+		private char otherwise = '?';
+
+		public Builder map(Color color, char representation) {
+			return map(color.getRGB(), representation);
+		}
+
+		public Builder map(int color, char representation) {
+			colors.add(color & RGB);
+			chars.add(representation);
+			return this;
+		}
+
+		/**
+		 * @param tolerance how far a colour may be from a colour in the palette,
+		 * on average across red, green and blue, and still match it.
+		 */
+		public Builder withTolerance(int tolerance) {
+			if (tolerance < 0) {
+				throw new IllegalArgumentException("Tolerance must not be negative, but was " + tolerance);
+			}
+			this.tolerance = tolerance;
+			return this;
+		}
+
+		/**
+		 * @param representation the character for colours which match nothing
+		 * in the palette. Defaults to '?'.
+		 */
+		public Builder otherwise(char representation) {
+			this.otherwise = representation;
+			return this;
+		}
+
+		public PaletteColorScheme build() {
+			if (colors.isEmpty()) {
+				throw new IllegalStateException("A palette color scheme needs at least one colour");
+			}
+			int[] colorArray = new int[colors.size()];
+			char[] charArray = new char[chars.size()];
+			for (int i = 0; i < colorArray.length; i++) {
+				colorArray[i] = colors.get(i);
+				charArray[i] = chars.get(i);
+			}
+			return new PaletteColorScheme(colorArray, charArray, tolerance, otherwise);
+		}
+	}
+}
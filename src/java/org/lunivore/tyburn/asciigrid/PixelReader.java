@@ -0,0 +1,119 @@
+package org.lunivore.tyburn.asciigrid;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Reads the colour of a pixel in the default RGB color model, the same as
+ * BufferedImage.getRGB would, but straight from the image's data buffer for
+ * those image types whose layout we know.
+ *
+ * <p>Reading the data buffer directly stops Java2D from accelerating the
+ * image, which is fine for images we've grabbed in order to look at them.</p>
+ */
+abstract class PixelReader {
+
+	private static final int OPAQUE = 0xFF000000;
+
+	public static PixelReader forImage(BufferedImage image) {
+		Raster raster = image.getRaster();
+		SampleModel sampleModel = raster.getSampleModel();
+		int translateX = raster.getSampleModelTranslateX();
+		int translateY = raster.getSampleModelTranslateY();
+
+		switch (image.getType()) {
+		case BufferedImage.TYPE_INT_RGB:
+		case BufferedImage.TYPE_INT_ARGB:
+			if (sampleModel instanceof SinglePixelPackedSampleModel
+					&& raster.getDataBuffer() instanceof DataBufferInt) {
+				DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+				SinglePixelPackedSampleModel packed = (SinglePixelPackedSampleModel) sampleModel;
+				int offset = buffer.getOffset() + packed.getOffset(-translateX, -translateY);
+				boolean hasAlpha = image.getType() == BufferedImage.TYPE_INT_ARGB;
+				return new IntPixelReader(buffer.getData(), offset, packed.getScanlineStride(), hasAlpha);
+			}
+			break;
+		case BufferedImage.TYPE_3BYTE_BGR:
+			if (sampleModel instanceof ComponentSampleModel
+					&& raster.getDataBuffer() instanceof DataBufferByte) {
+				DataBufferByte buffer = (DataBufferByte) raster.getDataBuffer();
+				ComponentSampleModel components = (ComponentSampleModel) sampleModel;
+				if (components.getNumBands() == 3) {
+					int offset = buffer.getOffset()
+							- (translateY * components.getScanlineStride())
+							- (translateX * components.getPixelStride());
+					return new ThreeBytePixelReader(buffer.getData(), offset,
+							components.getScanlineStride(), components.getPixelStride(), components.getBandOffsets());
+				}
+			}
+			break;
+		}
+		return new ColorModelPixelReader(image);
+	}
+
+	public abstract int rgbAt(int x, int y);
+
+	private static class IntPixelReader extends PixelReader {
+		private final int[] data;
+		private final int offset;
+		private final int scanlineStride;
+		private final boolean hasAlpha;
+
+		public IntPixelReader(int[] data, int offset, int scanlineStride, boolean hasAlpha) {
+			this.data = data;
+			this.offset = offset;
+			this.scanlineStride = scanlineStride;
+			this.hasAlpha = hasAlpha;
+		}
+
+		public int rgbAt(int x, int y) {
+			int pixel = data[offset + (y * scanlineStride) + x];
+			return hasAlpha ? pixel : OPAQUE | (pixel & 0xFFFFFF);
+		}
+	}
+
+	private static class ThreeBytePixelReader extends PixelReader {
+		private final byte[] data;
+		private final int offset;
+		private final int scanlineStride;
+		private final int pixelStride;
+		private final int redOffset;
+		private final int greenOffset;
+		private final int blueOffset;
+
+		public ThreeBytePixelReader(byte[] data, int offset, int scanlineStride, int pixelStride, int[] bandOffsets) {
+			this.data = data;
+			this.offset = offset;
+			this.scanlineStride = scanlineStride;
+			this.pixelStride = pixelStride;
+			this.redOffset = bandOffsets[0];
+			this.greenOffset = bandOffsets[1];
+			this.blueOffset = bandOffsets[2];
+		}
+
+		public int rgbAt(int x, int y) {
+			int pixel = offset + (y * scanlineStride) + (x * pixelStride);
+			return OPAQUE
+				| ((data[pixel + redOffset] & 0xFF) << 16)
+				| ((data[pixel + greenOffset] & 0xFF) << 8)
+				| (data[pixel + blueOffset] & 0xFF);
+		}
+	}
+
+	private static class ColorModelPixelReader extends PixelReader {
+		private final BufferedImage image;
+
+		public ColorModelPixelReader(BufferedImage image) {
+			this.image = image;
+		}
+
+		public int rgbAt(int x, int y) {
+			return image.getRGB(x, y);
+		}
+	}
+}
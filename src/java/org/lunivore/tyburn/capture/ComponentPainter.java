@@ -0,0 +1,153 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Paints components into TYPE_INT_RGB images. Swing components should only be
+ * painted on the event dispatch thread, so the painting is done there, and the
+ * calling thread waits for it.
+ */
+public class ComponentPainter {
+
+    private final ImagePool pool;
+
+    public ComponentPainter() {
+        this(new ImagePool());
+    }
+
+    public ComponentPainter(ImagePool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return a new image of the component, which belongs to the caller.
+     */
+    public BufferedImage paint(Component component) {
+        return paintRegion(component, new Rectangle(0, 0, component.getWidth(), component.getHeight()));
+    }
+
+    /**
+     * @return an image of the component from the pool. Release it when done.
+     */
+    public ImageLease paintLeased(Component component) {
+        return paintRegionLeased(component, new Rectangle(0, 0, component.getWidth(), component.getHeight()));
+    }
+
+    /**
+     * Paints the component into a pooled image and hashes it, without keeping
+     * the image. Use this to tell whether a component has changed.
+     */
+    public long hash(Component component) {
+        ImageLease lease = paintLeased(component);
+        try {
+            return RasterHash.of(lease.getImage());
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Paints only the given region of the component, in the component's own
+     * coordinates, into an image the size of the region. Pass a window to paint
+     * a region in window coordinates.
+     */
+    public BufferedImage paintRegion(Component component, Rectangle region) {
+        BufferedImage image = new BufferedImage(
+                Math.max(region.width, 1), Math.max(region.height, 1), BufferedImage.TYPE_INT_RGB);
+        paintOnEventThread(component, region, image);
+        return image;
+    }
+
+    public ImageLease paintRegionLeased(Component component, Rectangle region) {
+        ImageLease lease = pool.lease(region.width, region.height);
+        paintOnEventThread(component, region, lease.getImage());
+        return lease;
+    }
+
+    /**
+     * Paints the part of the container which covers all the components once,
+     * then slices an image of each component out of it. The images share one
+     * raster, so they belong to the caller but should not be painted into.
+     *
+     * @return the images, in the same order as the components.
+     */
+    public Map<Component, BufferedImage> paintAll(final Container container, final Component... components) {
+        final Rectangle[] bounds = new Rectangle[components.length];
+        final BufferedImage[] painted = new BufferedImage[1];
+        onEventThread(new Runnable() {
+            public void run() {
+                Rectangle covered = null;
+                for (int i = 0; i < components.length; i++) {
+                    bounds[i] = SwingUtilities.convertRectangle(components[i].getParent(), components[i].getBounds(), container);
+                    covered = covered == null ? new Rectangle(bounds[i]) : covered.union(bounds[i]);
+                }
+                if (covered == null) { return; }
+
+                painted[0] = new BufferedImage(
+                        Math.max(covered.width, 1), Math.max(covered.height, 1), BufferedImage.TYPE_INT_RGB);
+                paint(container, covered, painted[0]);
+                for (Rectangle componentBounds : bounds) {
+                    componentBounds.translate(-covered.x, -covered.y);
+                }
+            }
+        });
+
+        Map<Component, BufferedImage> images = new LinkedHashMap<Component, BufferedImage>();
+        for (int i = 0; i < components.length; i++) {
+            Rectangle slice = bounds[i].intersection(new Rectangle(0, 0, painted[0].getWidth(), painted[0].getHeight()));
+            images.put(components[i], painted[0].getSubimage(
+                    slice.x, slice.y, Math.max(slice.width, 1), Math.max(slice.height, 1)));
+        }
+        return images;
+    }
+
+    private void paintOnEventThread(final Component component, final Rectangle region, final BufferedImage image) {
+        onEventThread(new Runnable() {
+            public void run() {
+                paint(component, region, image);
+            }
+        });
+    }
+
+    private void paint(Component component, Rectangle region, BufferedImage image) {
+        Graphics2D background = image.createGraphics();
+        background.setColor(Color.BLACK);
+        background.fillRect(0, 0, image.getWidth(), image.getHeight());
+        background.dispose();
+
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.clipRect(0, 0, region.width, region.height);
+            graphics.translate(-region.x, -region.y);
+            component.paint(graphics);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private void onEventThread(Runnable runnable) {
+        if (EventQueue.isDispatchThread()) {
+            runnable.run();
+        } else {
+            try {
+                EventQueue.invokeAndWait(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+}
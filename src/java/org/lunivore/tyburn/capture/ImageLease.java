@@ -0,0 +1,41 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An image borrowed from an ImagePool. Release it once it's no longer needed
+ * so that it can be painted into again; the image must not be used after that.
+ * Can be used with try-with-resources.
+ */
+public class ImageLease implements AutoCloseable {
+
+    private final ImagePool pool;
+    private final BufferedImage image;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ImageLease(ImagePool pool, BufferedImage image) {
+        this.pool = pool;
+        this.image = image;
+    }
+
+    public BufferedImage getImage() {
+        if (released.get()) {
+            throw new IllegalStateException("This image has been released back to its pool");
+        }
+        return image;
+    }
+
+    /**
+     * Gives the image back to the pool. Releasing it more than once does nothing.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(image);
+        }
+    }
+
+    public void close() {
+        release();
+    }
+}
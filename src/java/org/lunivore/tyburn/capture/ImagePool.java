@@ -0,0 +1,72 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.image.BufferedImage;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps TYPE_INT_RGB images which have been released, keyed by size, so that
+ * grabbing the same component again and again (eg: once per generation of an
+ * animation) reuses the same few images rather than making new ones each time.
+ * Safe to use from many threads.
+ */
+public class ImagePool {
+
+    public static final int DEFAULT_IMAGES_PER_SIZE = 4;
+
+    private final int imagesPerSize;
+    private final ConcurrentMap<Long, Queue<BufferedImage>> freeImagesBySize = new ConcurrentHashMap<Long, Queue<BufferedImage>>();
+    private final AtomicInteger created = new AtomicInteger();
+
+    public ImagePool() {
+        this(DEFAULT_IMAGES_PER_SIZE);
+    }
+
+    /**
+     * @param imagesPerSize how many released images of each size to keep. Any
+     * more are left for the garbage collector.
+     */
+    public ImagePool(int imagesPerSize) {
+        this.imagesPerSize = imagesPerSize;
+    }
+
+    /**
+     * @return an image of the given size, which is the caller's until the lease
+     * is released. Its contents are whatever was last painted into it.
+     */
+    public ImageLease lease(int width, int height) {
+        BufferedImage image = freeImagesOf(width, height).poll();
+        if (image == null) {
+            image = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_RGB);
+            created.incrementAndGet();
+        }
+        return new ImageLease(this, image);
+    }
+
+    void release(BufferedImage image) {
+        Queue<BufferedImage> freeImages = freeImagesOf(image.getWidth(), image.getHeight());
+        if (freeImages.size() < imagesPerSize) {
+            freeImages.offer(image);
+        }
+    }
+
+    /**
+     * @return the number of images this pool has had to create.
+     */
+    public int getImagesCreated() {
+        return created.get();
+    }
+
+    private Queue<BufferedImage> freeImagesOf(int width, int height) {
+        Long size = ((long) Math.max(width, 1) << 32) | Math.max(height, 1);
+        Queue<BufferedImage> freeImages = freeImagesBySize.get(size);
+        if (freeImages == null) {
+            freeImagesBySize.putIfAbsent(size, new ConcurrentLinkedQueue<BufferedImage>());
+            freeImages = freeImagesBySize.get(size);
+        }
+        return freeImages;
+    }
+}
@@ -0,0 +1,63 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Works out a 64-bit hash of an image's pixels, so that two renders can be
+ * compared without keeping or converting either of them. TYPE_INT_RGB images,
+ * like those the ComponentPainter makes, are hashed straight from their data
+ * buffer; other images are read a row at a time. Alpha is ignored.
+ */
+public class RasterHash {
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final int RGB = 0xFFFFFF;
+
+    public static long of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long hash = mix(mix(PRIME_2, width), height);
+
+        Raster raster = image.getRaster();
+        if (image.getType() == BufferedImage.TYPE_INT_RGB
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+                && raster.getDataBuffer() instanceof DataBufferInt) {
+            int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+            int scanlineStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+            int offset = raster.getDataBuffer().getOffset()
+                    - (raster.getSampleModelTranslateY() * scanlineStride)
+                    - raster.getSampleModelTranslateX();
+            for (int y = 0; y < height; y++) {
+                int rowStart = offset + (y * scanlineStride);
+                for (int x = rowStart; x < rowStart + width; x++) {
+                    hash = mix(hash, data[x] & RGB);
+                }
+            }
+        } else {
+            int[] row = new int[width];
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int pixel : row) {
+                    hash = mix(hash, pixel & RGB);
+                }
+            }
+        }
+        return finish(hash);
+    }
+
+    private static long mix(long hash, int value) {
+        return Long.rotateLeft(hash + (value * PRIME_2), 31) * PRIME_1;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_1;
+        return hash ^ (hash >>> 32);
+    }
+}
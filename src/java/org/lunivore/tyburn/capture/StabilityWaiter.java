@@ -0,0 +1,65 @@
+package org.lunivore.tyburn.capture;
+
+import java.awt.Component;
+import java.util.concurrent.TimeUnit;
+
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+import org.lunivore.tyburn.threaded.TimeoutException;
+
+/**
+ * Waits for a component to stop changing (eg: for an animation or an
+ * asynchronous load to finish) by painting and hashing it at intervals. Each
+ * check costs a paint into a pooled image and a hash; no image is kept and no
+ * ascii is built.
+ */
+public class StabilityWaiter {
+
+    public static final long DEFAULT_POLL_INTERVAL = 50;
+
+    private final ComponentPainter painter;
+    private final Sleeper sleeper;
+    private final long pollInterval;
+
+    public StabilityWaiter(ComponentPainter painter) {
+        this(painter, new SystemClock(), DEFAULT_POLL_INTERVAL);
+    }
+
+    public StabilityWaiter(ComponentPainter painter, Sleeper sleeper, long pollInterval) {
+        this.painter = painter;
+        this.sleeper = sleeper;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Returns as soon as every hash of the component over the quiet period has
+     * been the same. With a quiet period of 0, two hashes in a row will do.
+     *
+     * @return the hash of the component once it is stable.
+     * @throws TimeoutException if the component is still changing after the timeout.
+     */
+    public long waitUntilStable(Component component, long quietPeriod, long timeout) throws TimeoutException {
+        long quietPeriodInNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriod);
+        long pollIntervalInNanos = TimeUnit.MILLISECONDS.toNanos(pollInterval);
+        long endTime = sleeper.getTimeInNanos() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        long lastHash = painter.hash(component);
+        long lastChanged = sleeper.getTimeInNanos();
+        while (true) {
+            long now = sleeper.getTimeInNanos();
+            if (now >= endTime) {
+                throw new TimeoutException();
+            }
+            sleeper.sleepUntil(Math.min(now + pollIntervalInNanos, endTime));
+
+            long hash = painter.hash(component);
+            now = sleeper.getTimeInNanos();
+            if (hash != lastHash) {
+                lastHash = hash;
+                lastChanged = now;
+            } else if (now - lastChanged >= quietPeriodInNanos) {
+                return hash;
+            }
+        }
+    }
+}
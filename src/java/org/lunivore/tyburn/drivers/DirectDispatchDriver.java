@@ -0,0 +1,81 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Window;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import javax.swing.AbstractButton;
+
+import org.lunivore.tyburn.Speed;
+
+/**
+ * Dispatches events straight to the components which should receive them, in one
+ * trip to the event dispatch thread. When an action returns, every listener has
+ * seen every event, so there's nothing to listen for and nothing to wait for.
+ * 
+ * The events don't go through the event queue or the focus manager, so use this
+ * only where that doesn't matter to the application.
+ */
+public class DirectDispatchDriver implements InputDriver {
+
+    private final Speed speed;
+
+    public DirectDispatchDriver(Speed speed) {
+        this.speed = speed;
+    }
+
+    public void typeText(Component component, Component receiver, String text) {
+        dispatch(SyntheticEvents.typing(receiver, text));
+    }
+
+    public void typeTextInBatches(Component component, Component receiver, String text) {
+        typeText(component, receiver, text);
+    }
+
+    public void pressKeychar(Window window, Component receiver, char key) {
+        dispatch(SyntheticEvents.typing(receiver, String.valueOf(key)));
+    }
+
+    public void pressKeycode(Window window, Component receiver, int keycode) {
+        dispatch(SyntheticEvents.keycodePress(receiver, keycode));
+    }
+
+    public void clickMouse(Component component, int x, int y) {
+        dispatch(SyntheticEvents.mouseClick(component, x, y));
+    }
+
+    /**
+     * Presses and releases the mouse in the middle of the button, so that the
+     * button's own mouse listener arms and fires it as it would for a user.
+     */
+    public void clickButton(AbstractButton button) {
+        dispatch(SyntheticEvents.mouseClick(button, button.getWidth() / 2, button.getHeight() / 2));
+    }
+
+    private void dispatch(final List<AWTEvent> events) {
+        Runnable dispatcher = new Runnable() {
+            public void run() {
+                for (AWTEvent event : events) {
+                    ((Component) event.getSource()).dispatchEvent(event);
+                }
+            }
+        };
+        
+        if (EventQueue.isDispatchThread()) {
+            dispatcher.run();
+        } else {
+            try {
+                EventQueue.invokeAndWait(dispatcher);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        speed.holdBack();
+    }
+}
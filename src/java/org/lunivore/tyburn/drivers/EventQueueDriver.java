@@ -0,0 +1,127 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.KeyEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import javax.swing.AbstractButton;
+import javax.swing.ButtonModel;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.actors.Idler;
+import org.lunivore.tyburn.listeners.QueueingActionListener;
+import org.lunivore.tyburn.listeners.QueueingKeyAdapter;
+import org.lunivore.tyburn.listeners.QueueingMouseAdapter;
+import org.lunivore.tyburn.listeners.RecordingKeyAdapter;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
+
+/**
+ * Posts events to the system event queue, as the operating system would, and
+ * listens for them to arrive. This is the default driver.
+ */
+public class EventQueueDriver implements InputDriver {
+
+    public static final int BATCH_SIZE = 64;
+
+    private final EventQueue sysQueue;
+    private final Idler idler;
+    private final Speed speed;
+    private final ParkingObjectHolder<AWTEvent> holder;
+
+    public EventQueueDriver(Speed speed) {
+        this.speed = speed;
+        sysQueue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        idler = new Idler(speed.isCoalescingIdles());
+        holder = new ParkingObjectHolder<AWTEvent>(speed.getTimeouterFactory());
+    }
+
+    public void typeText(Component component, Component receiver, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            QueueingKeyAdapter queuer = new QueueingKeyAdapter(receiver, speed, holder);
+            post(SyntheticEvents.typing(component, text.substring(i, i + 1)));
+            queuer.waitForEvent();
+        }
+    }
+
+    public void typeTextInBatches(Component component, Component receiver, String text) {
+        RecordingKeyAdapter recorder = new RecordingKeyAdapter(receiver, speed, KeyEvent.KEY_TYPED);
+        
+        try {
+            for (int start = 0; start < text.length(); start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, text.length());
+                for (AWTEvent event : SyntheticEvents.typing(component, text.substring(start, end))) {
+                    sysQueue.postEvent(event);
+                }
+                recorder.awaitCount(end - start);
+            }
+        } finally {
+            recorder.stopRecording();
+        }
+    }
+
+    public void pressKeychar(Window window, Component receiver, char key) {
+        QueueingKeyAdapter queuer = new QueueingKeyAdapter(receiver, speed, holder);
+        post(SyntheticEvents.typing(window, String.valueOf(key)));
+        queuer.waitForEvent();
+    }
+
+    public void pressKeycode(Window window, Component receiver, int keycode) {
+        QueueingKeyAdapter queuer = new QueueingKeyAdapter(receiver, speed, holder);
+        post(SyntheticEvents.keycodePress(window, keycode));
+        queuer.waitForEvent();
+    }
+
+    public void clickMouse(Component component, int x, int y) {
+        QueueingMouseAdapter queuer = new QueueingMouseAdapter(component, speed, holder);
+        for (AWTEvent event : SyntheticEvents.mouseClick(component, x, y)) {
+            sysQueue.postEvent(event);
+        }
+        queuer.waitForEvent();
+        idler.waitForIdle();
+    }
+
+    /**
+     * Holds the button down for the speed's button press time, or, if that's 0, arms,
+     * presses and releases it through its model on the event dispatch thread.
+     */
+    public void clickButton(AbstractButton button) {
+        QueueingActionListener queuer = new QueueingActionListener(button, speed, holder);
+        if (speed.getButtonPressTime() > 0) {
+            button.doClick(speed.getButtonPressTime());
+        } else {
+            pressAndRelease(button.getModel());
+        }
+        queuer.waitForEvent();
+        idler.waitForIdle();
+    }
+
+    private void pressAndRelease(final ButtonModel model) {
+        try {
+            EventQueue.invokeAndWait(new Runnable() {
+                public void run() {
+                    model.setArmed(true);
+                    model.setPressed(true);
+                    model.setPressed(false);
+                    model.setArmed(false);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void post(List<AWTEvent> events) {
+        for (AWTEvent event : events) {
+            sysQueue.postEvent(event);
+        }
+        idler.waitForIdle();
+    }
+}
@@ -0,0 +1,33 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.Component;
+import java.awt.Window;
+
+import javax.swing.AbstractButton;
+
+/**
+ * Creates the input for the actors, and waits until the application has received it.
+ * The actors decide which component should receive the input and give it focus;
+ * the driver decides how the input gets there.
+ * 
+ * Where a component is passed in along with a receiver, the component is the one
+ * the input is aimed at, and the receiver is the one which is expected to hear it
+ * (eg: the editor of an editable combo box).
+ */
+public interface InputDriver {
+
+    void typeText(Component component, Component receiver, String text);
+
+    /**
+     * Types the text a batch at a time, waiting for each batch rather than each character.
+     */
+    void typeTextInBatches(Component component, Component receiver, String text);
+
+    void pressKeychar(Window window, Component receiver, char key);
+
+    void pressKeycode(Window window, Component receiver, int keycode);
+
+    void clickMouse(Component component, int x, int y);
+
+    void clickButton(AbstractButton button);
+}
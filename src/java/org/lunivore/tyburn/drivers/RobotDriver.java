@@ -0,0 +1,145 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.AWTEvent;
+import java.awt.AWTException;
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Robot;
+import java.awt.Window;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractButton;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.listeners.QueueingActionListener;
+import org.lunivore.tyburn.listeners.QueueingKeyAdapter;
+import org.lunivore.tyburn.listeners.QueueingMouseAdapter;
+import org.lunivore.tyburn.listeners.RecordingKeyAdapter;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
+
+/**
+ * Uses java.awt.Robot to create real, native input, for applications whose listeners
+ * ignore synthetic events. Needs a display (Xvfb will do) and the window under test
+ * to be on top of it, since the input goes wherever the mouse and focus are.
+ * 
+ * Text is typed a batch of characters at a time, with the robot's auto-delay between
+ * each native event and one wait for the whole batch to arrive. Only characters on
+ * a US keyboard can be typed.
+ */
+public class RobotDriver implements InputDriver {
+
+    public static final int DEFAULT_AUTO_DELAY = 5;
+    public static final int BATCH_SIZE = 64;
+    
+    private static final String SHIFTED = "~!@#$%^&*()_+{}|:\"<>?";
+    private static final String UNSHIFTED = "`1234567890-=[]\\;',./";
+
+    private final Robot robot;
+    private final Speed speed;
+    private final ParkingObjectHolder<AWTEvent> holder;
+
+    public RobotDriver(Speed speed) {
+        this(speed, DEFAULT_AUTO_DELAY);
+    }
+
+    /**
+     * @param autoDelayInMillis the time the robot waits after each native event.
+     */
+    public RobotDriver(Speed speed, int autoDelayInMillis) {
+        this.speed = speed;
+        this.holder = new ParkingObjectHolder<AWTEvent>(speed.getTimeouterFactory());
+        try {
+            robot = new Robot();
+        } catch (AWTException e) {
+            throw new RuntimeException(e);
+        }
+        robot.setAutoDelay(autoDelayInMillis);
+        robot.setAutoWaitForIdle(false);
+    }
+
+    public void typeText(Component component, Component receiver, String text) {
+        typeTextInBatches(component, receiver, text);
+    }
+
+    public void typeTextInBatches(Component component, Component receiver, String text) {
+        RecordingKeyAdapter recorder = new RecordingKeyAdapter(receiver, speed, KeyEvent.KEY_TYPED);
+        
+        try {
+            for (int start = 0; start < text.length(); start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, text.length());
+                for (int i = start; i < end; i++) {
+                    type(text.charAt(i));
+                }
+                robot.waitForIdle();
+                recorder.awaitCount(end - start);
+            }
+        } finally {
+            recorder.stopRecording();
+        }
+    }
+
+    public void pressKeychar(Window window, Component receiver, char key) {
+        QueueingKeyAdapter queuer = new QueueingKeyAdapter(receiver, speed, holder);
+        type(key);
+        robot.waitForIdle();
+        queuer.waitForEvent();
+    }
+
+    public void pressKeycode(Window window, Component receiver, int keycode) {
+        QueueingKeyAdapter queuer = new QueueingKeyAdapter(receiver, speed, holder);
+        robot.keyPress(keycode);
+        robot.keyRelease(keycode);
+        robot.waitForIdle();
+        queuer.waitForEvent();
+    }
+
+    public void clickMouse(Component component, int x, int y) {
+        QueueingMouseAdapter queuer = new QueueingMouseAdapter(component, speed, holder);
+        click(component, x, y);
+        queuer.waitForEvent();
+    }
+
+    public void clickButton(AbstractButton button) {
+        QueueingActionListener queuer = new QueueingActionListener(button, speed, holder);
+        click(button, button.getWidth() / 2, button.getHeight() / 2);
+        queuer.waitForEvent();
+    }
+
+    private void click(Component component, int x, int y) {
+        Point location = component.getLocationOnScreen();
+        robot.mouseMove(location.x + x, location.y + y);
+        robot.mousePress(InputEvent.BUTTON1_DOWN_MASK);
+        robot.mouseRelease(InputEvent.BUTTON1_DOWN_MASK);
+        robot.waitForIdle();
+    }
+
+    private void type(char c) {
+        boolean shifted = false;
+        int keycode;
+        
+        if (c == '\n') {
+            keycode = KeyEvent.VK_ENTER;
+        } else if (c == '\t') {
+            keycode = KeyEvent.VK_TAB;
+        } else if (SHIFTED.indexOf(c) >= 0) {
+            shifted = true;
+            keycode = KeyEvent.getExtendedKeyCodeForChar(UNSHIFTED.charAt(SHIFTED.indexOf(c)));
+        } else {
+            shifted = Character.isUpperCase(c);
+            keycode = KeyEvent.getExtendedKeyCodeForChar(Character.toLowerCase(c));
+        }
+        if (keycode == KeyEvent.VK_UNDEFINED) {
+            throw new IllegalArgumentException("Cannot type '" + c + "' with the robot");
+        }
+        
+        if (shifted) {
+            robot.keyPress(KeyEvent.VK_SHIFT);
+        }
+        robot.keyPress(keycode);
+        robot.keyRelease(keycode);
+        if (shifted) {
+            robot.keyRelease(KeyEvent.VK_SHIFT);
+        }
+    }
+}
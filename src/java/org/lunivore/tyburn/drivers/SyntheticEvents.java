@@ -0,0 +1,62 @@
+package org.lunivore.tyburn.drivers;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the events which the operating system would send for simple input.
+ */
+class SyntheticEvents {
+
+    static List<AWTEvent> typing(Component component, String text) {
+        List<AWTEvent> events = new ArrayList<AWTEvent>();
+        for (int i = 0; i < text.length(); i++) {
+            events.add(keyEvent(component, text.charAt(i), KeyEvent.KEY_PRESSED));
+            events.add(keyEvent(component, text.charAt(i), KeyEvent.KEY_RELEASED));
+            events.add(keyEvent(component, text.charAt(i), KeyEvent.KEY_TYPED));
+        }
+        return events;
+    }
+
+    static List<AWTEvent> keycodePress(Component component, int keycode) {
+        List<AWTEvent> events = new ArrayList<AWTEvent>();
+        events.add(keyEvent(component, keycode, KeyEvent.KEY_PRESSED));
+        events.add(keyEvent(component, keycode, KeyEvent.KEY_RELEASED));
+        return events;
+    }
+
+    static List<AWTEvent> mouseClick(Component component, int x, int y) {
+        List<AWTEvent> events = new ArrayList<AWTEvent>();
+        events.add(mouseEvent(component, MouseEvent.MOUSE_PRESSED, x, y));
+        events.add(mouseEvent(component, MouseEvent.MOUSE_RELEASED, x, y));
+        events.add(mouseEvent(component, MouseEvent.MOUSE_CLICKED, x, y));
+        return events;
+    }
+
+    private static AWTEvent keyEvent(Component component, char c, int id) {
+        return new KeyEvent(component, 
+                id, 
+                System.currentTimeMillis(),
+                0,
+                KeyEvent.VK_UNDEFINED,
+                c);
+    }
+    
+    private static AWTEvent keyEvent(Component component, int keycode, int id) {
+        return new KeyEvent(component, 
+                id, 
+                System.currentTimeMillis(),
+                0,
+                keycode,
+                KeyEvent.CHAR_UNDEFINED);
+    }
+
+    private static AWTEvent mouseEvent(Component component, int id, int x, int y) {
+        return new MouseEvent(component, id, System.currentTimeMillis(), InputEvent.BUTTON1_DOWN_MASK, x, y, 1, false, MouseEvent.BUTTON1);
+    }
+}
@@ -0,0 +1,30 @@
+package org.lunivore.tyburn.listeners;
+
+import java.awt.AWTEvent;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.AbstractButton;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.actors.QueueingComponentListener;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
+
+public class QueueingActionListener extends QueueingComponentListener<AbstractButton> implements ActionListener {
+    
+    public QueueingActionListener(AbstractButton button, Speed speed, ParkingObjectHolder<AWTEvent> holder) {
+        super(button, "button click", speed, holder);
+    }
+    
+    public void actionPerformed(ActionEvent e) {
+        eventOccurred(e);
+    }
+
+    protected void addSelfToComponent() {
+        component.addActionListener(this);
+    }
+
+    protected void removeSelfFromComponent() {
+        component.removeActionListener(this);
+    }
+}
@@ -3,12 +3,14 @@
  */
 package org.lunivore.tyburn.listeners;
 
+import java.awt.AWTEvent;
 import java.awt.Component;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
 import org.lunivore.tyburn.Speed;
 import org.lunivore.tyburn.actors.QueueingComponentListener;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
 
 public class QueueingKeyAdapter extends QueueingComponentListener<Component> implements KeyListener {
     
@@ -16,6 +18,10 @@ public class QueueingKeyAdapter extends QueueingComponentListener<Component> imp
         super(component, "KeyEvent", speed);
     }
     
+    public QueueingKeyAdapter(Component component, Speed speed, ParkingObjectHolder<AWTEvent> holder) {
+        super(component, "KeyEvent", speed, holder);
+    }
+    
     protected void addSelfToComponent() {
         component.addKeyListener(this);
     }
@@ -0,0 +1,37 @@
+package org.lunivore.tyburn.listeners;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.actors.QueueingComponentListener;
+import org.lunivore.tyburn.threaded.ParkingObjectHolder;
+
+public class QueueingMouseAdapter extends QueueingComponentListener<Component> implements MouseListener {
+    
+    public QueueingMouseAdapter(Component component, Speed speed, ParkingObjectHolder<AWTEvent> holder) {
+        super(component, "mouse click", speed, holder);
+    }
+    
+    public void mouseClicked(MouseEvent e) {
+        eventOccurred(e);
+    }
+
+    protected void addSelfToComponent() {
+        component.addMouseListener(this);
+    }
+
+    protected void removeSelfFromComponent() {
+        component.removeMouseListener(this);
+    }
+
+    public void mouseEntered(MouseEvent e) {}
+
+    public void mouseExited(MouseEvent e) {}
+
+    public void mousePressed(MouseEvent e) {}
+
+    public void mouseReleased(MouseEvent e) {}
+}
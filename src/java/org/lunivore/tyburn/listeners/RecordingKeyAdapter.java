@@ -0,0 +1,39 @@
+package org.lunivore.tyburn.listeners;
+
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+
+import org.lunivore.tyburn.Speed;
+import org.lunivore.tyburn.actors.RecordingComponentListener;
+
+/**
+ * Records key events on a component. By default every pressed, released and typed
+ * event is recorded; pass in event ids (eg: KeyEvent.KEY_TYPED) to record only those.
+ */
+public class RecordingKeyAdapter extends RecordingComponentListener<Component> implements KeyListener {
+
+    public RecordingKeyAdapter(Component component, Speed speed, int... recordedIds) {
+        super(component, "KeyEvent", speed, recordedIds);
+    }
+
+    protected void addSelfToComponent() {
+        component.addKeyListener(this);
+    }
+
+    protected void removeSelfFromComponent() {
+        component.removeKeyListener(this);
+    }
+
+    public void keyPressed(KeyEvent e) {
+        eventOccurred(e);
+    }
+
+    public void keyReleased(KeyEvent e) {
+        eventOccurred(e);
+    }
+
+    public void keyTyped(KeyEvent e) {
+        eventOccurred(e);
+    }
+}
@@ -0,0 +1,90 @@
+package org.lunivore.tyburn.pacing;
+
+import java.awt.EventQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+
+/**
+ * Goes flat out while the application keeps up, and holds back only when the event
+ * dispatch thread starts to fall behind. After every action it measures how long the
+ * event dispatch thread takes to get round to an empty task, and keeps a moving average.
+ * While the average is over the target latency, it holds back for twice the excess,
+ * up to a maximum, giving the application time to catch up.
+ */
+public class AdaptivePacing implements PacingStrategy {
+
+    private static final int BACK_OFF = 2;
+    private static final Runnable EMPTY_RUNNABLE = new Runnable() { public void run() {}};
+
+    private final long targetInNanos;
+    private final long maximumInNanos;
+    private final LatencyProbe probe;
+    private final Sleeper sleeper;
+    private final AtomicLong averageLatencyInNanos = new AtomicLong();
+
+    public AdaptivePacing(long targetLatencyInMillis, long maximumDelayInMillis) {
+        this(targetLatencyInMillis, maximumDelayInMillis, new SystemClock());
+    }
+
+    public AdaptivePacing(long targetLatencyInMillis, long maximumDelayInMillis, Sleeper sleeper) {
+        this(targetLatencyInMillis, maximumDelayInMillis, new EventQueueProbe(sleeper), sleeper);
+    }
+
+    public AdaptivePacing(long targetLatencyInMillis, long maximumDelayInMillis, LatencyProbe probe) {
+        this(targetLatencyInMillis, maximumDelayInMillis, probe, new SystemClock());
+    }
+
+    public AdaptivePacing(long targetLatencyInMillis, long maximumDelayInMillis, LatencyProbe probe, Sleeper sleeper) {
+        this.targetInNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyInMillis);
+        this.maximumInNanos = TimeUnit.MILLISECONDS.toNanos(maximumDelayInMillis);
+        this.probe = probe;
+        this.sleeper = sleeper;
+    }
+
+    public void holdBack() {
+        long latency = probe.measureLatencyInNanos();
+        long previous;
+        long average;
+        do {
+            previous = averageLatencyInNanos.get();
+            average = (previous * 3 + latency) / 4;
+        } while (!averageLatencyInNanos.compareAndSet(previous, average));
+        
+        if (average > targetInNanos) {
+            sleeper.sleepUntil(sleeper.getTimeInNanos() + Math.min(maximumInNanos, (average - targetInNanos) * BACK_OFF));
+        }
+    }
+
+    public long getAverageLatencyInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(averageLatencyInNanos.get());
+    }
+
+    public interface LatencyProbe {
+        long measureLatencyInNanos();
+    }
+
+    private static class EventQueueProbe implements LatencyProbe {
+        private final Sleeper sleeper;
+
+        public EventQueueProbe(Sleeper sleeper) {
+            this.sleeper = sleeper;
+        }
+
+        public long measureLatencyInNanos() {
+            if (EventQueue.isDispatchThread()) {
+                return 0;
+            }
+            long start = sleeper.getTimeInNanos();
+            try {
+                EventQueue.invokeAndWait(EMPTY_RUNNABLE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (Exception ignored) {}
+            return sleeper.getTimeInNanos() - start;
+        }
+    }
+}
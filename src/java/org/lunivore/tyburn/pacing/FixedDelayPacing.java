@@ -0,0 +1,30 @@
+package org.lunivore.tyburn.pacing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+
+/**
+ * Holds back for the same time after every action.
+ */
+public class FixedDelayPacing implements PacingStrategy {
+
+    private final long delayInNanos;
+    private final Sleeper sleeper;
+
+    public FixedDelayPacing(long delayInMillis) {
+        this(delayInMillis, new SystemClock());
+    }
+
+    public FixedDelayPacing(long delayInMillis, Sleeper sleeper) {
+        this.delayInNanos = TimeUnit.MILLISECONDS.toNanos(delayInMillis);
+        this.sleeper = sleeper;
+    }
+
+    public void holdBack() {
+        if (delayInNanos > 0) {
+            sleeper.sleepUntil(sleeper.getTimeInNanos() + delayInNanos);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.lunivore.tyburn.pacing;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+
+/**
+ * Holds back for a random time between a minimum and maximum after every action,
+ * as a user might. Pass in a seeded Random to make a run repeatable.
+ */
+public class JitteredPacing implements PacingStrategy {
+
+    private final long minimumInNanos;
+    private final long rangeInNanos;
+    private final Random random;
+    private final Sleeper sleeper;
+
+    public JitteredPacing(long minimumInMillis, long maximumInMillis) {
+        this(minimumInMillis, maximumInMillis, new Random());
+    }
+
+    public JitteredPacing(long minimumInMillis, long maximumInMillis, Random random) {
+        this(minimumInMillis, maximumInMillis, random, new SystemClock());
+    }
+
+    public JitteredPacing(long minimumInMillis, long maximumInMillis, Random random, Sleeper sleeper) {
+        if (minimumInMillis < 0 || maximumInMillis < minimumInMillis) {
+            throw new IllegalArgumentException("Cannot pace between " + minimumInMillis + " and " + maximumInMillis + " ms");
+        }
+        this.minimumInNanos = TimeUnit.MILLISECONDS.toNanos(minimumInMillis);
+        this.rangeInNanos = TimeUnit.MILLISECONDS.toNanos(maximumInMillis) - minimumInNanos;
+        this.random = random;
+        this.sleeper = sleeper;
+    }
+
+    public void holdBack() {
+        sleeper.sleepUntil(sleeper.getTimeInNanos() + minimumInNanos + (long) (random.nextDouble() * rangeInNanos));
+    }
+}
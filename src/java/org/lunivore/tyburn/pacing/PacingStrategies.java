@@ -0,0 +1,42 @@
+package org.lunivore.tyburn.pacing;
+
+/**
+ * Creates pacing strategies from short descriptions, so that they can be chosen
+ * with a system property:
+ * 
+ * <pre>
+ * 200              hold back for 200 ms after every action
+ * fixed:200        the same
+ * rate:20          no more than 20 actions per second
+ * rate:20,5        the same, allowing bursts of 5 actions
+ * jitter:100,400   hold back for between 100 and 400 ms
+ * adaptive:50,1000 hold back only while the event dispatch thread takes more
+ *                  than 50 ms to respond, for up to 1000 ms
+ * </pre>
+ */
+public class PacingStrategies {
+
+    public static PacingStrategy parse(String description) {
+        String trimmed = description.trim();
+        int colon = trimmed.indexOf(':');
+        String kind = colon < 0 ? "fixed" : trimmed.substring(0, colon).trim();
+        String[] args = (colon < 0 ? trimmed : trimmed.substring(colon + 1)).split(",");
+        
+        try {
+            if (kind.equals("fixed") && args.length == 1) {
+                return new FixedDelayPacing(Long.parseLong(args[0].trim()));
+            } else if (kind.equals("rate") && args.length == 1) {
+                return new TokenBucketPacing(Double.parseDouble(args[0].trim()));
+            } else if (kind.equals("rate") && args.length == 2) {
+                return new TokenBucketPacing(Double.parseDouble(args[0].trim()), Integer.parseInt(args[1].trim()));
+            } else if (kind.equals("jitter") && args.length == 2) {
+                return new JitteredPacing(Long.parseLong(args[0].trim()), Long.parseLong(args[1].trim()));
+            } else if (kind.equals("adaptive") && args.length == 2) {
+                return new AdaptivePacing(Long.parseLong(args[0].trim()), Long.parseLong(args[1].trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cannot understand pacing '" + description + "'", e);
+        }
+        throw new IllegalArgumentException("Cannot understand pacing '" + description + "'");
+    }
+}
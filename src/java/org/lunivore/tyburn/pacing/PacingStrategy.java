@@ -0,0 +1,10 @@
+package org.lunivore.tyburn.pacing;
+
+/**
+ * Decides how long to hold back after each action, to pace the application
+ * under test. Strategies may be shared between threads.
+ */
+public interface PacingStrategy {
+
+    void holdBack();
+}
@@ -0,0 +1,52 @@
+package org.lunivore.tyburn.pacing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lunivore.tyburn.threaded.Sleeper;
+import org.lunivore.tyburn.threaded.SystemClock;
+
+/**
+ * Limits the rate of actions, however many threads share it, allowing short bursts.
+ * Rather than a bucket with a count of tokens, it keeps the time by which the actions
+ * so far would have been paced out, which can be claimed with one compare-and-set.
+ */
+public class TokenBucketPacing implements PacingStrategy {
+
+    private final long intervalInNanos;
+    private final long burstInNanos;
+    private final AtomicLong pacedOutAt;
+    private final Sleeper sleeper;
+
+    public TokenBucketPacing(double actionsPerSecond) {
+        this(actionsPerSecond, 1);
+    }
+
+    /**
+     * @param burst the number of actions which may go without holding back, after a pause.
+     */
+    public TokenBucketPacing(double actionsPerSecond, int burst) {
+        this(actionsPerSecond, burst, new SystemClock());
+    }
+
+    public TokenBucketPacing(double actionsPerSecond, int burst, Sleeper sleeper) {
+        if (actionsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Cannot pace at " + actionsPerSecond + " actions per second in bursts of " + burst);
+        }
+        this.intervalInNanos = (long) (1000000000L / actionsPerSecond);
+        this.burstInNanos = intervalInNanos * burst;
+        this.sleeper = sleeper;
+        this.pacedOutAt = new AtomicLong(sleeper.getTimeInNanos());
+    }
+
+    public void holdBack() {
+        long now = sleeper.getTimeInNanos();
+        long previous;
+        long next;
+        do {
+            previous = pacedOutAt.get();
+            next = Math.max(previous, now) + intervalInNanos;
+        } while (!pacedOutAt.compareAndSet(previous, next));
+        
+        sleeper.sleepUntil(next - burstInNanos);
+    }
+}
@@ -0,0 +1,235 @@
+package org.lunivore.tyburn.selectors;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lunivore.tyburn.ComponentFilter;
+import org.lunivore.tyburn.ComponentFinder;
+import org.lunivore.tyburn.ComponentFinderException;
+import org.lunivore.tyburn.ComponentIndex;
+import org.lunivore.tyburn.ComponentTreeSnapshot;
+import org.lunivore.tyburn.ComponentWalker;
+import org.lunivore.tyburn.IndexableFilter;
+import org.lunivore.tyburn.IndexedComponentFinder;
+import org.lunivore.tyburn.SnapshotFilter;
+
+/**
+ * Finds components using a compact selector, eg:
+ *
+ * <pre>
+ * JPanel#orders > JButton[text=OK]
+ * JTextField[name^=address.]:enabled
+ * *[name~=row\d+\.price]</pre></p>
+ *
+ * <p>Each step of a selector may have a type (the simple or fully qualified name of
+ * a class the component is or extends) or '*' for any type, followed by any of:
+ * <ul>
+ * <li>#name - the component has exactly this name</li>
+ * <li>[name=value], [name^=prefix], [name~=regex] - the name equals, starts with or
+ * wholly matches the value</li>
+ * <li>[text=value], [text^=prefix], [text~=regex] - the same, for the text of buttons,
+ * labels and text components. Values may be quoted.</li>
+ * <li>:visible, :enabled, :showing</li>
+ * </ul>
+ * Steps separated by whitespace match any descendant of the step before; steps
+ * separated by '>' match only its direct children.</p>
+ *
+ * <p>Selectors are compiled once and cached, so the same selector text can be used
+ * again and again, from any thread, without being parsed again. Only the most
+ * recently used few hundred are cached, so selectors built from data don't pile
+ * up; keep hold of a compiled selector to be sure of reusing it. The last step is
+ * used to look components up by name or type when searching with an
+ * IndexedComponentFinder. Otherwise each step is found only beneath the components
+ * found by the step before, rather than every component being checked against
+ * the whole selector.</p>
+ */
+public class ComponentSelector implements IndexableFilter, SnapshotFilter {
+
+    static final int MAX_COMPILED = 256;
+
+    @SuppressWarnings("serial")
+    private static final Map<String, ComponentSelector> compiled = Collections.synchronizedMap(
+            new LinkedHashMap<String, ComponentSelector>(16, 0.75f, true) {
+                protected boolean removeEldestEntry(Map.Entry<String, ComponentSelector> eldest) {
+                    return size() > MAX_COMPILED;
+                }
+            });
+
+    private final String selector;
+    private final Step[] steps;
+
+    /**
+     * @return the compiled selector, which may be one compiled recently.
+     * @throws IllegalArgumentException if the selector can't be parsed.
+     */
+    public static ComponentSelector compile(String selector) {
+        ComponentSelector componentSelector = compiled.get(selector);
+        if (componentSelector == null) {
+            componentSelector = new ComponentSelector(selector);
+            compiled.put(selector, componentSelector);
+        }
+        return componentSelector;
+    }
+
+    public ComponentSelector(String selector) {
+        this.selector = selector;
+        List<Step> parsed = new SelectorParser(selector).parse();
+        this.steps = parsed.toArray(new Step[parsed.size()]);
+    }
+
+    /**
+     * Finds the matching components beneath the container, using the finder's index
+     * if it has one. Ancestors named in the selector may be the container itself or
+     * anything beneath it.
+     */
+    public Component[] findComponents(Container container, ComponentFinder finder) {
+        if (finder instanceof IndexedComponentFinder) {
+            List<Component> matches = new ArrayList<Component>();
+            for (Component candidate : finder.findComponents(container, this)) {
+                if (matchesFrom(steps.length - 1, candidate, container)) matches.add(candidate);
+            }
+            return matches.toArray(new Component[matches.size()]);
+        }
+        return findByPrunedWalk(container);
+    }
+
+    public Component findExactComponent(Container container, ComponentFinder finder) throws ComponentFinderException {
+        Component[] matches = findComponents(container, finder);
+        if (matches.length == 0) {
+            throw new ComponentFinderException("No component found matching " + selector);
+        }
+        if (matches.length > 1) {
+            throw new ComponentFinderException("More than one component found matching " + selector);
+        }
+        return matches[0];
+    }
+
+    /**
+     * Ancestors named in the selector may be anything above the component, up to
+     * and including its window.
+     */
+    public boolean matches(Component component) {
+        return matchesFrom(steps.length - 1, component, null);
+    }
+
+    public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+        return matchesFrom(steps.length - 1, snapshot, node);
+    }
+
+    public Component[] candidatesFrom(ComponentIndex index) {
+        Step subject = steps[steps.length - 1];
+        if (subject.getName() != null) {
+            return index.componentsNamed(subject.getName());
+        }
+        if (subject.hasType()) {
+            List<Component> candidates = new ArrayList<Component>();
+            for (Class<?> componentClass : index.indexedClasses()) {
+                if (subject.matchesType(componentClass)) {
+                    for (Component component : index.componentsOfClass(componentClass)) {
+                        candidates.add(component);
+                    }
+                }
+            }
+            return candidates.toArray(new Component[candidates.size()]);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+
+    private boolean matchesFrom(int stepIndex, Component component, Container limit) {
+        Step step = steps[stepIndex];
+        if (!step.matches(component)) return false;
+        if (stepIndex == 0) return true;
+        if (component == limit || component instanceof Window) return false;
+
+        Container parent = component.getParent();
+        if (step.getCombinator() == Step.Combinator.CHILD) {
+            return parent != null && matchesFrom(stepIndex - 1, parent, limit);
+        }
+        for (; parent != null; parent = parent.getParent()) {
+            if (matchesFrom(stepIndex - 1, parent, limit)) return true;
+            if (parent == limit || parent instanceof Window) return false;
+        }
+        return false;
+    }
+
+    private boolean matchesFrom(int stepIndex, ComponentTreeSnapshot snapshot, int node) {
+        Step step = steps[stepIndex];
+        if (!step.matches(snapshot, node)) return false;
+        if (stepIndex == 0) return true;
+
+        int parent = snapshot.getParent(node);
+        if (step.getCombinator() == Step.Combinator.CHILD) {
+            return parent >= 0 && matchesFrom(stepIndex - 1, snapshot, parent);
+        }
+        for (; parent >= 0; parent = snapshot.getParent(parent)) {
+            if (matchesFrom(stepIndex - 1, snapshot, parent)) return true;
+        }
+        return false;
+    }
+
+    private Component[] findByPrunedWalk(Container container) {
+        ComponentWalker walker = new ComponentWalker();
+        List<Component> found = new ArrayList<Component>();
+        if (steps.length > 1 && steps[0].matches(container)) {
+            found.add(container);
+        }
+        findBeneath(container, steps[0], walker, found, new IdentityHashMap<Component, Object>());
+
+        for (int i = 1; i < steps.length && !found.isEmpty(); i++) {
+            List<Component> next = new ArrayList<Component>();
+            Map<Component, Object> seen = new IdentityHashMap<Component, Object>();
+            Map<Component, Object> previous = new IdentityHashMap<Component, Object>();
+            for (Component component : found) {
+                previous.put(component, component);
+            }
+            for (Component component : found) {
+                if (!(component instanceof Container)) continue;
+                if (steps[i].getCombinator() == Step.Combinator.CHILD) {
+                    findChildren((Container) component, steps[i], next, seen);
+                } else if (!hasAncestorIn(component, previous)) {
+                    findBeneath((Container) component, steps[i], walker, next, seen);
+                }
+            }
+            found = next;
+        }
+        return found.toArray(new Component[found.size()]);
+    }
+
+    private void findChildren(Container container, ComponentFilter step, List<Component> found, Map<Component, Object> seen) {
+        int numberOfChildren = container.getComponentCount();
+        for (int i = 0; i < numberOfChildren; i++) {
+            Component child = container.getComponent(i);
+            if (step.matches(child) && seen.put(child, child) == null) {
+                found.add(child);
+            }
+        }
+    }
+
+    private boolean hasAncestorIn(Component component, Map<Component, Object> components) {
+        for (Container parent = component.getParent(); parent != null; parent = parent.getParent()) {
+            if (components.containsKey(parent)) return true;
+        }
+        return false;
+    }
+
+    private void findBeneath(Container container, ComponentFilter step, ComponentWalker walker, List<Component> found, Map<Component, Object> seen) {
+        walker.start(container);
+        for (Component match = walker.next(step); match != null; match = walker.next(step)) {
+            if (seen.put(match, match) == null) {
+                found.add(match);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.lunivore.tyburn.selectors;
+
+import java.awt.Component;
+import java.util.regex.Pattern;
+
+import org.lunivore.tyburn.ComponentTreeSnapshot;
+import org.lunivore.tyburn.TextReader;
+
+/**
+ * One of the conditions in a selector step, such as [name^=order] or :visible.
+ * Each condition can be checked against a live component or a snapshot of one.
+ */
+interface Condition {
+
+    boolean matches(Component component);
+
+    boolean matches(ComponentTreeSnapshot snapshot, int node);
+
+    static final TextReader TEXT_READER = new TextReader();
+
+    static class NameEquals implements Condition {
+        private final String name;
+
+        public NameEquals(String name) {
+            this.name = name;
+        }
+
+        public boolean matches(Component component) {
+            return name.equals(component.getName());
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            return name.equals(snapshot.getName(node));
+        }
+    }
+
+    static class NameStartsWith implements Condition {
+        private final String prefix;
+
+        public NameStartsWith(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public boolean matches(Component component) {
+            String name = component.getName();
+            return name != null && name.startsWith(prefix);
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            String name = snapshot.getName(node);
+            return name != null && name.startsWith(prefix);
+        }
+    }
+
+    static class NameMatches implements Condition {
+        private final Pattern pattern;
+
+        public NameMatches(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        public boolean matches(Component component) {
+            String name = component.getName();
+            return name != null && pattern.matcher(name).matches();
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            String name = snapshot.getName(node);
+            return name != null && pattern.matcher(name).matches();
+        }
+    }
+
+    static class TextEquals implements Condition {
+        private final String text;
+
+        public TextEquals(String text) {
+            this.text = text;
+        }
+
+        public boolean matches(Component component) {
+            return text.equals(TEXT_READER.textOf(component));
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            return text.equals(snapshot.getText(node));
+        }
+    }
+
+    static class TextStartsWith implements Condition {
+        private final String prefix;
+
+        public TextStartsWith(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public boolean matches(Component component) {
+            String text = TEXT_READER.textOf(component);
+            return text != null && text.startsWith(prefix);
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            String text = snapshot.getText(node);
+            return text != null && text.startsWith(prefix);
+        }
+    }
+
+    static class TextMatches implements Condition {
+        private final Pattern pattern;
+
+        public TextMatches(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        public boolean matches(Component component) {
+            String text = TEXT_READER.textOf(component);
+            return text != null && pattern.matcher(text).matches();
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            String text = snapshot.getText(node);
+            return text != null && pattern.matcher(text).matches();
+        }
+    }
+
+    static class Visible implements Condition {
+        public boolean matches(Component component) {
+            return component.isVisible();
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            return snapshot.isVisible(node);
+        }
+    }
+
+    static class Enabled implements Condition {
+        public boolean matches(Component component) {
+            return component.isEnabled();
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            return snapshot.isEnabled(node);
+        }
+    }
+
+    static class Showing implements Condition {
+        public boolean matches(Component component) {
+            return component.isShowing();
+        }
+
+        public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+            return snapshot.isShowing(node);
+        }
+    }
+}
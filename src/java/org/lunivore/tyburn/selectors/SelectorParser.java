@@ -0,0 +1,180 @@
+package org.lunivore.tyburn.selectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.lunivore.tyburn.selectors.Step.Combinator;
+
+/**
+ * Turns selector text into steps. See ComponentSelector for the syntax.
+ */
+class SelectorParser {
+
+    private static final String TYPE_CHARS = "_$.";
+    private static final String NAME_CHARS = "_$.-";
+
+    private final String selector;
+    private int position;
+
+    public SelectorParser(String selector) {
+        this.selector = selector;
+    }
+
+    public List<Step> parse() {
+        List<Step> steps = new ArrayList<Step>();
+        skipWhitespace();
+        steps.add(parseStep(Combinator.DESCENDANT));
+        while (!atEnd()) {
+            boolean sawWhitespace = skipWhitespace();
+            if (atEnd()) break;
+            Combinator combinator;
+            if (peek() == '>') {
+                position++;
+                skipWhitespace();
+                combinator = Combinator.CHILD;
+            } else if (sawWhitespace) {
+                combinator = Combinator.DESCENDANT;
+            } else {
+                throw error("Unexpected '" + peek() + "'");
+            }
+            steps.add(parseStep(combinator));
+        }
+        return steps;
+    }
+
+    private Step parseStep(Combinator combinator) {
+        int start = position;
+        String typeName = null;
+        String name = null;
+        List<Condition> conditions = new ArrayList<Condition>();
+
+        if (!atEnd() && peek() == '*') {
+            position++;
+        } else if (!atEnd() && Character.isJavaIdentifierStart(peek())) {
+            typeName = readWhile(TYPE_CHARS);
+        }
+
+        while (!atEnd()) {
+            char next = peek();
+            if (next == '#') {
+                position++;
+                String idName = readWhile(NAME_CHARS);
+                if (idName.length() == 0) throw error("Expected a name after '#'");
+                if (name == null) {
+                    name = idName;
+                } else {
+                    conditions.add(new Condition.NameEquals(idName));
+                }
+            } else if (next == '[') {
+                position++;
+                conditions.add(parseAttribute());
+            } else if (next == ':') {
+                position++;
+                conditions.add(parsePseudo());
+            } else {
+                break;
+            }
+        }
+        if (position == start) throw error("Expected a type, '*', '#', '[' or ':'");
+        return new Step(combinator, typeName, name, conditions);
+    }
+
+    private Condition parseAttribute() {
+        skipWhitespace();
+        String attribute = readWhile(NAME_CHARS);
+        skipWhitespace();
+        String operator;
+        if (selector.startsWith("^=", position) || selector.startsWith("~=", position)) {
+            operator = selector.substring(position, position + 2);
+            position += 2;
+        } else if (!atEnd() && peek() == '=') {
+            operator = "=";
+            position++;
+        } else {
+            throw error("Expected '=', '^=' or '~='");
+        }
+        skipWhitespace();
+        String value = readValue();
+        skipWhitespace();
+        expect(']');
+
+        if ("name".equals(attribute)) {
+            if ("=".equals(operator)) return new Condition.NameEquals(value);
+            if ("^=".equals(operator)) return new Condition.NameStartsWith(value);
+            return new Condition.NameMatches(compile(value));
+        }
+        if ("text".equals(attribute)) {
+            if ("=".equals(operator)) return new Condition.TextEquals(value);
+            if ("^=".equals(operator)) return new Condition.TextStartsWith(value);
+            return new Condition.TextMatches(compile(value));
+        }
+        throw error("Unknown attribute '" + attribute + "'; expected 'name' or 'text'");
+    }
+
+    private Condition parsePseudo() {
+        String pseudo = readWhile(NAME_CHARS);
+        if ("visible".equals(pseudo)) return new Condition.Visible();
+        if ("enabled".equals(pseudo)) return new Condition.Enabled();
+        if ("showing".equals(pseudo)) return new Condition.Showing();
+        throw error("Unknown state ':" + pseudo + "'; expected ':visible', ':enabled' or ':showing'");
+    }
+
+    private String readValue() {
+        if (atEnd()) throw error("Expected a value");
+        char quote = peek();
+        if (quote == '"' || quote == '\'') {
+            position++;
+            int end = selector.indexOf(quote, position);
+            if (end < 0) throw error("Unterminated " + quote);
+            String value = selector.substring(position, end);
+            position = end + 1;
+            return value;
+        }
+        int end = selector.indexOf(']', position);
+        if (end < 0) throw error("Expected ']'");
+        String value = selector.substring(position, end).trim();
+        position = end;
+        return value;
+    }
+
+    private Pattern compile(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw error("Bad regular expression '" + regex + "'");
+        }
+    }
+
+    private void expect(char expected) {
+        if (atEnd() || peek() != expected) throw error("Expected '" + expected + "'");
+        position++;
+    }
+
+    private boolean skipWhitespace() {
+        int start = position;
+        while (!atEnd() && Character.isWhitespace(peek())) position++;
+        return position > start;
+    }
+
+    private String readWhile(String allowedPunctuation) {
+        int start = position;
+        while (!atEnd() && (Character.isLetterOrDigit(peek()) || allowedPunctuation.indexOf(peek()) >= 0)) {
+            position++;
+        }
+        return selector.substring(start, position);
+    }
+
+    private boolean atEnd() {
+        return position >= selector.length();
+    }
+
+    private char peek() {
+        return selector.charAt(position);
+    }
+
+    private IllegalArgumentException error(String problem) {
+        return new IllegalArgumentException(problem + " at position " + position + " of selector \"" + selector + "\"");
+    }
+}
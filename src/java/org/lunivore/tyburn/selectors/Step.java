@@ -0,0 +1,85 @@
+package org.lunivore.tyburn.selectors;
+
+import java.awt.Component;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.lunivore.tyburn.ComponentFilter;
+import org.lunivore.tyburn.ComponentTreeSnapshot;
+
+/**
+ * One compound step of a selector, eg: JButton#ok[text=OK]:enabled, together with
+ * how it relates to the step before it. Whether each class matches the type is
+ * remembered, but only weakly, so that classes can still be unloaded.
+ */
+class Step implements ComponentFilter {
+
+    enum Combinator { DESCENDANT, CHILD }
+
+    private final Combinator combinator;
+    private final String typeName;
+    private final String name;
+    private final Condition[] conditions;
+    private final Map<Class<?>, Boolean> typeMatches = Collections.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
+
+    /**
+     * @param typeName the simple or fully qualified name of a class the component must
+     * be or extend, or null for any component.
+     * @param name the exact name the component must have, or null if it may have any name.
+     */
+    public Step(Combinator combinator, String typeName, String name, List<Condition> conditions) {
+        this.combinator = combinator;
+        this.typeName = typeName;
+        this.name = name;
+        this.conditions = conditions.toArray(new Condition[conditions.size()]);
+    }
+
+    public Combinator getCombinator() {
+        return combinator;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean hasType() {
+        return typeName != null;
+    }
+
+    public boolean matches(Component component) {
+        if (name != null && !name.equals(component.getName())) return false;
+        if (typeName != null && !matchesType(component.getClass())) return false;
+        for (Condition condition : conditions) {
+            if (!condition.matches(component)) return false;
+        }
+        return true;
+    }
+
+    public boolean matches(ComponentTreeSnapshot snapshot, int node) {
+        if (name != null && !name.equals(snapshot.getName(node))) return false;
+        if (typeName != null && !matchesType(snapshot.getComponentClass(node))) return false;
+        for (Condition condition : conditions) {
+            if (!condition.matches(snapshot, node)) return false;
+        }
+        return true;
+    }
+
+    public boolean matchesType(Class<?> componentClass) {
+        Boolean matches = typeMatches.get(componentClass);
+        if (matches == null) {
+            matches = isOrExtends(componentClass);
+            typeMatches.put(componentClass, matches);
+        }
+        return matches;
+    }
+
+    private boolean isOrExtends(Class<?> componentClass) {
+        boolean qualified = typeName.indexOf('.') >= 0;
+        for (Class<?> type = componentClass; type != null; type = type.getSuperclass()) {
+            if (typeName.equals(qualified ? type.getName() : type.getSimpleName())) return true;
+        }
+        return false;
+    }
+}
@@ -1,5 +1,14 @@
 package org.lunivore.tyburn.threaded;
 
+/**
+ * Tells the time for timeouts and pacing. The time is only meaningful compared with
+ * another time from the same clock: the SystemClock measures from an arbitrary origin,
+ * which isn't the time of day, and virtual clocks start at 0.
+ */
 public interface Clock {
+
+    /**
+     * @return the time in milliseconds since the clock's own origin.
+     */
     long getTimeInMillis();
 }
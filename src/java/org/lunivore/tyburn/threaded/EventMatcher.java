@@ -0,0 +1,7 @@
+package org.lunivore.tyburn.threaded;
+
+public interface EventMatcher<T> {
+
+    boolean matches(T event);
+
+}
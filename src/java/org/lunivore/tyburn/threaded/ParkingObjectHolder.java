@@ -0,0 +1,92 @@
+package org.lunivore.tyburn.threaded;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Holds an object for one waiting thread, like QueuedObjectHolder, but without any
+ * locks. The object is published atomically, and the waiting thread is parked
+ * rather than waiting on a monitor, so setting the object never blocks and allocates
+ * nothing. The holder can be cleared and used again for as many objects as needed.</p>
+ *
+ * <p>Only one thread may wait on the holder at a time; any number may set it.</p>
+ */
+public class ParkingObjectHolder<T> {
+
+    public static final long DEFAULT_TIMEOUT = 30000;
+
+    private final AtomicReference<T> object = new AtomicReference<T>();
+    private final AtomicReference<Thread> waiter = new AtomicReference<Thread>();
+    private final Timeouter timeouter;
+    private final long timeoutInMillis;
+
+    public ParkingObjectHolder() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    public ParkingObjectHolder(long timeoutInMillis) {
+        this(new ClockedTimeouterFactory(), timeoutInMillis);
+    }
+
+    public ParkingObjectHolder(TimeouterFactory factory) {
+        this(factory, DEFAULT_TIMEOUT);
+    }
+
+    public ParkingObjectHolder(TimeouterFactory factory, long timeoutInMillis) {
+        this.timeouter = factory.createTimeouter();
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    public void set(T object) {
+        this.object.set(object);
+        Thread waitingThread = waiter.get();
+        if (waitingThread != null) {
+            LockSupport.unpark(waitingThread);
+        }
+    }
+
+    public T get() throws TimeoutException {
+        return get(timeoutInMillis);
+    }
+
+    /**
+     * Waits for an object, leaving it in the holder.
+     */
+    public T get(long timeoutInMillis) throws TimeoutException {
+        return await(timeoutInMillis, false);
+    }
+
+    /**
+     * Waits for an object and removes it, leaving the holder ready for the next one.
+     */
+    public T take(long timeoutInMillis) throws TimeoutException {
+        return await(timeoutInMillis, true);
+    }
+
+    public void clear() {
+        object.set(null);
+    }
+
+    private T await(long timeoutInMillis, boolean remove) throws TimeoutException {
+        T held = remove ? object.getAndSet(null) : object.get();
+        if (held != null) return held;
+
+        Thread currentThread = Thread.currentThread();
+        if (!waiter.compareAndSet(null, currentThread)) {
+            throw new IllegalStateException("Another thread is already waiting on this holder");
+        }
+        boolean interrupted = false;
+        try {
+            timeouter.start(timeoutInMillis);
+            while ((held = remove ? object.getAndSet(null) : object.get()) == null) {
+                timeouter.checkTime();
+                timeouter.park();
+                if (Thread.interrupted()) interrupted = true;
+            }
+            return held;
+        } finally {
+            waiter.set(null);
+            if (interrupted) currentThread.interrupt();
+        }
+    }
+}
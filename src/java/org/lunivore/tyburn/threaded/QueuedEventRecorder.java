@@ -0,0 +1,138 @@
+package org.lunivore.tyburn.threaded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records events in the order they arrive, in a ring buffer of fixed capacity, so
+ * that a burst of events can be waited for all at once and none of them are lost
+ * between waits. Events are consumed as they are waited for. If more events arrive
+ * than the buffer can hold before they are consumed, the oldest are dropped.
+ */
+public class QueuedEventRecorder<T> {
+
+    public static final long DEFAULT_TIMEOUT = 30000;
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Object[] events;
+    private int oldest;
+    private int size;
+    private final Object waitingPlace = new Object();
+    private final TimeouterFactory timeouterFactory;
+    private final long timeoutInMillis;
+
+    public QueuedEventRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public QueuedEventRecorder(int capacity) {
+        this(capacity, new ClockedTimeouterFactory(), DEFAULT_TIMEOUT);
+    }
+
+    public QueuedEventRecorder(int capacity, TimeouterFactory timeouterFactory, long timeoutInMillis) {
+        this.events = new Object[capacity];
+        this.timeouterFactory = timeouterFactory;
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    public void record(T event) {
+        synchronized(waitingPlace) {
+            if (size == events.length) {
+                events[oldest] = null;
+                oldest = (oldest + 1) % events.length;
+                size--;
+            }
+            events[(oldest + size) % events.length] = event;
+            size++;
+            waitingPlace.notifyAll();
+        }
+    }
+
+    public List<T> awaitCount(int count) throws TimeoutException {
+        return awaitCount(count, timeoutInMillis);
+    }
+
+    /**
+     * Waits until at least the given number of events have been recorded, then
+     * consumes and returns that many, oldest first.
+     */
+    public List<T> awaitCount(int count, long timeoutInMillis) throws TimeoutException {
+        if (count > events.length) {
+            throw new IllegalArgumentException("Cannot wait for " + count + " events with a capacity of " + events.length);
+        }
+        Timeouter timeouter = timeouterFactory.createTimeouter();
+        timeouter.start(timeoutInMillis);
+        synchronized(waitingPlace) {
+            while (size < count) {
+                waitOn(timeouter);
+            }
+            List<T> consumed = new ArrayList<T>(count);
+            for (int i = 0; i < count; i++) {
+                consumed.add(removeOldest());
+            }
+            return consumed;
+        }
+    }
+
+    public T awaitMatching(EventMatcher<? super T> matcher) throws TimeoutException {
+        return awaitMatching(matcher, timeoutInMillis);
+    }
+
+    /**
+     * Waits until an event matching the given matcher has been recorded, then
+     * consumes it, along with any events recorded before it.
+     */
+    public T awaitMatching(EventMatcher<? super T> matcher, long timeoutInMillis) throws TimeoutException {
+        Timeouter timeouter = timeouterFactory.createTimeouter();
+        timeouter.start(timeoutInMillis);
+        int checked = 0;
+        synchronized(waitingPlace) {
+            while (true) {
+                for (; checked < size; checked++) {
+                    if (matcher.matches(eventAt(checked))) {
+                        for (int i = 0; i < checked; i++) {
+                            removeOldest();
+                        }
+                        return removeOldest();
+                    }
+                }
+                waitOn(timeouter);
+                checked = 0;
+            }
+        }
+    }
+
+    public int size() {
+        synchronized(waitingPlace) {
+            return size;
+        }
+    }
+
+    public void clear() {
+        synchronized(waitingPlace) {
+            while (size > 0) {
+                removeOldest();
+            }
+        }
+    }
+
+    private void waitOn(Timeouter timeouter) throws TimeoutException {
+        timeouter.checkTime();
+        try {
+            timeouter.waitOn(waitingPlace);
+        } catch (InterruptedException ie) {}
+    }
+
+    @SuppressWarnings("unchecked")
+    private T eventAt(int index) {
+        return (T) events[(oldest + index) % events.length];
+    }
+
+    private T removeOldest() {
+        T event = eventAt(0);
+        events[oldest] = null;
+        oldest = (oldest + 1) % events.length;
+        size--;
+        return event;
+    }
+}
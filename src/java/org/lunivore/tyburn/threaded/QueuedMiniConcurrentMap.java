@@ -0,0 +1,117 @@
+package org.lunivore.tyburn.threaded;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * An asynchronous holder implementing some map-like features, in the same way as
+ * QueuedMiniHashMap. Each key has its own waiting place, so putting an object only
+ * wakes the threads waiting for that key, and there is no lock shared between keys.
+ * Null keys are allowed; null values are not stored.
+ */
+public class QueuedMiniConcurrentMap<K, V> implements QueuedMiniMap<K, V> {
+    public static final long DEFAULT_TIMEOUT = 30000;
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentMap<Object, V> map = new ConcurrentHashMap<Object, V>();
+    private final ConcurrentMap<Object, Object> waitingPlaces = new ConcurrentHashMap<Object, Object>();
+    private final TimeouterFactory timeouterFactory;
+    private final long timeout;
+
+    /**
+     * Constructs a map with a default timeout of 30 seconds.
+     */
+    public QueuedMiniConcurrentMap() {
+        this(new ClockedTimeouterFactory());
+    }
+
+    /**
+     * @param timeoutInMillis overrides the map's timeout value.
+     */
+    public QueuedMiniConcurrentMap(long timeoutInMillis) {
+        this(new ClockedTimeouterFactory(), timeoutInMillis);
+    }
+
+    public QueuedMiniConcurrentMap(TimeouterFactory timeouterFactory) {
+        this(timeouterFactory, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param timeoutInMillis overrides the map's timeout value.
+     */
+    public QueuedMiniConcurrentMap(TimeouterFactory timeouterFactory, long timeoutInMillis) {
+        this.timeouterFactory = timeouterFactory;
+        timeout = timeoutInMillis;
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        Object mapKey = mask(key);
+        map.put(mapKey, value);
+        Object waitingPlace = waitingPlaces.get(mapKey);
+        if (waitingPlace != null) {
+            synchronized(waitingPlace) {
+                waitingPlace.notifyAll();
+            }
+        }
+    }
+
+    public V get(K key) throws TimeoutException {
+        return get(key, timeout);
+    }
+
+    public V get(K key, long timeout) throws TimeoutException {
+        return get(key, timeout, timeouterFactory);
+    }
+    
+    /**
+     * @param timeouterFactory times this wait out instead of the map's own factory.
+     */
+    public V get(K key, long timeout, TimeouterFactory timeouterFactory) throws TimeoutException {
+        Object mapKey = mask(key);
+        V value = map.get(mapKey);
+        if (value != null) return value;
+
+        Timeouter timeouter = timeouterFactory.createTimeouter();
+        timeouter.start(timeout);
+        Object waitingPlace = waitingPlaceFor(mapKey);
+        synchronized(waitingPlace) {
+            value = map.get(mapKey);
+            while (value == null) {
+                timeouter.checkTime();
+                try {
+                    timeouter.waitOn(waitingPlace);
+                } catch (InterruptedException ie) {}
+                value = map.get(mapKey);
+            }
+        }
+        return value;
+    }
+
+    public void remove(K key) {
+        map.remove(mask(key));
+    }
+
+    public boolean has(K key) {
+        return map.containsKey(mask(key));
+    }
+
+    private Object waitingPlaceFor(Object mapKey) {
+        Object waitingPlace = waitingPlaces.get(mapKey);
+        if (waitingPlace == null) {
+            Object newWaitingPlace = new Object();
+            waitingPlace = waitingPlaces.putIfAbsent(mapKey, newWaitingPlace);
+            if (waitingPlace == null) waitingPlace = newWaitingPlace;
+        }
+        return waitingPlace;
+    }
+
+    private Object mask(K key) {
+        return key == null ? NULL_KEY : key;
+    }
+}
@@ -56,6 +56,13 @@ public class QueuedMiniHashMap<K, V> implements QueuedMiniMap<K, V> {
     }
     
     public V get(K key, long timeout) throws TimeoutException {
+        return get(key, timeout, timeouterFactory);
+    }
+    
+    /**
+     * @param timeouterFactory times this wait out instead of the map's own factory.
+     */
+    public V get(K key, long timeout, TimeouterFactory timeouterFactory) throws TimeoutException {
         Timeouter timeouter = timeouterFactory.createTimeouter();
         timeouter.start(timeout);
         V value = map.get(key);
@@ -64,7 +71,7 @@ public class QueuedMiniHashMap<K, V> implements QueuedMiniMap<K, V> {
                     
                 timeouter.checkTime();
                 try {
-                    waitingPlace.wait(timeouter.getTimeLeftIfAny());
+                    timeouter.waitOn(waitingPlace);
                 } catch (InterruptedException ie) {}
                 value = map.get(key);
                 
@@ -5,6 +5,7 @@ public interface QueuedMiniMap<K, V> {
     
     public void put(K key, V value);
     public V get(K key, long timeout) throws TimeoutException;
+    public V get(K key, long timeout, TimeouterFactory timeouterFactory) throws TimeoutException;
     public void remove(K key);
 	public boolean has(K key);
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -4,9 +4,9 @@ public class QueuedObjectHolder<T> {
 
     public static final long DEFAULT_TIMEOUT = 30000;
     
-    private T object;
+    private volatile T object;
     private Object waitingPlace = new Object();
-    private final ClockedTimeouterFactory timeouterFactory;
+    private final TimeouterFactory timeouterFactory;
     private final long timeoutInMillis;
 
     public QueuedObjectHolder() {
@@ -18,11 +18,11 @@ public class QueuedObjectHolder<T> {
     }
 
 
-    public QueuedObjectHolder(ClockedTimeouterFactory factory) {
+    public QueuedObjectHolder(TimeouterFactory factory) {
         this(factory, DEFAULT_TIMEOUT);
     }
     
-    public QueuedObjectHolder(ClockedTimeouterFactory factory, long timeoutInMillis) {
+    public QueuedObjectHolder(TimeouterFactory factory, long timeoutInMillis) {
         this.timeouterFactory = factory;
         this.timeoutInMillis = timeoutInMillis;
     }
@@ -45,7 +45,7 @@ public class QueuedObjectHolder<T> {
             while (object == null) {
                 timeouter.checkTime();
                 try {
-                    waitingPlace.wait(timeouter.getTimeLeftIfAny());
+                    timeouter.waitOn(waitingPlace);
                 } catch (InterruptedException ie) {}
             }
         }
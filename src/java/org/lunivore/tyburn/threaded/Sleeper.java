@@ -0,0 +1,14 @@
+package org.lunivore.tyburn.threaded;
+
+/**
+ * A clock which can also wait for a time to come round, to the nanosecond.
+ */
+public interface Sleeper extends Clock {
+
+    long getTimeInNanos();
+
+    /**
+     * @throws RuntimeException if the thread is interrupted, with its interrupt cleared.
+     */
+    void sleepUntil(long timeInNanos);
+}
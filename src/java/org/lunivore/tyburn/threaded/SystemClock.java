@@ -1,9 +1,32 @@
 package org.lunivore.tyburn.threaded;
 
-public class SystemClock implements Clock {
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tells the time using System.nanoTime, which, unlike the time of day, never jumps
+ * backwards or forwards, so timeouts and pacing are unaffected by changes to the
+ * system clock. The time is only useful for measuring intervals.
+ */
+public class SystemClock implements Sleeper {
+
+    private static final long NANOS_IN_A_MILLI = 1000000L;
 
     public long getTimeInMillis() {
-        return System.currentTimeMillis();
+        return System.nanoTime() / NANOS_IN_A_MILLI;
+    }
+
+    public long getTimeInNanos() {
+        return System.nanoTime();
+    }
+
+    public void sleepUntil(long timeInNanos) {
+        long left;
+        while ((left = timeInNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(left);
+            if (Thread.interrupted()) {
+                throw new RuntimeException(new InterruptedException());
+            }
+        }
     }
 
 }
@@ -1,5 +1,8 @@
 package org.lunivore.tyburn.threaded;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 public interface Timeouter {
 
     void start(long timeout);
@@ -8,4 +11,21 @@ public interface Timeouter {
 
     long getTimeLeftIfAny();
 
+    /**
+     * Waits on the monitor, which must be held, until notified or until it's
+     * time to check the time again. By default, waits in real time for as long
+     * as is left.
+     */
+    default void waitOn(Object monitor) throws InterruptedException {
+        // Never wait(0), which would wait forever.
+        monitor.wait(Math.max(1, getTimeLeftIfAny()));
+    }
+
+    /**
+     * Parks the current thread until unparked or until it's time to check the
+     * time again. By default, parks in real time for as long as is left.
+     */
+    default void park() {
+        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, getTimeLeftIfAny())));
+    }
 }
@@ -0,0 +1,168 @@
+package org.lunivore.tyburn.threaded;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps virtual time, for behaviours which would otherwise wait out real timeouts
+ * and pacing. Use it as the clock, timeouter factory or sleeper of anything which
+ * waits, and virtual time will jump to the next timeout or wake-up as soon as
+ * nothing else is runnable.
+ *
+ * A thread which has registered holds virtual time still for as long as it runs,
+ * so register any thread which might wake a waiting one (eg: the behaviour's own
+ * thread, before it starts a thread which waits). Threads which are waiting on
+ * virtual time are always counted, registered or not. Other threads, like the event
+ * dispatch thread, can't hold time still, and time may jump before they finish.
+ *
+ * Waiting threads check for a jump every millisecond of real time, and time only
+ * jumps once nothing has been runnable for two checks in a row, which gives a thread
+ * which has just been woken the chance to say so.
+ */
+public class VirtualTimeScheduler implements Sleeper, TimeouterFactory {
+
+    private static final long NANOS_IN_A_MILLI = 1000000L;
+    private static final long CHECK_IN_NANOS = NANOS_IN_A_MILLI;
+
+    private final AtomicLong now = new AtomicLong();
+    private final ConcurrentMap<Thread, Long> wakeUps = new ConcurrentHashMap<Thread, Long>();
+    private final Set<Thread> registered = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
+    /**
+     * Holds virtual time still while the current thread is running.
+     */
+    public void register() {
+        registered.add(Thread.currentThread());
+    }
+
+    public void unregister() {
+        registered.remove(Thread.currentThread());
+    }
+
+    /**
+     * @return a runnable which holds virtual time still while it runs.
+     */
+    public Runnable registering(final Runnable runnable) {
+        return new Runnable() {
+            public void run() {
+                register();
+                try {
+                    runnable.run();
+                } finally {
+                    unregister();
+                }
+            }
+        };
+    }
+
+    public long getTimeInMillis() {
+        return now.get() / NANOS_IN_A_MILLI;
+    }
+
+    public long getTimeInNanos() {
+        return now.get();
+    }
+
+    /**
+     * Moves virtual time on, whether or not anything is runnable.
+     */
+    public void advanceBy(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public Timeouter createTimeouter() {
+        return new VirtualTimeouter();
+    }
+
+    public void sleepUntil(long timeInNanos) {
+        boolean quiet = false;
+        while (now.get() < timeInNanos) {
+            wakeUps.put(Thread.currentThread(), timeInNanos);
+            try {
+                long parkedAt = System.nanoTime();
+                LockSupport.parkNanos(this, CHECK_IN_NANOS);
+                if (Thread.interrupted()) {
+                    throw new RuntimeException(new InterruptedException());
+                }
+                quiet = jumpIfQuiet(quiet, parkedAt);
+            } finally {
+                wakeUps.remove(Thread.currentThread());
+            }
+        }
+    }
+
+    /**
+     * @param quietLastTime whether nothing was runnable when this thread last checked.
+     * @param waitedAt when, in real time, this thread started waiting for this check.
+     * @return whether nothing was runnable this time.
+     */
+    private boolean jumpIfQuiet(boolean quietLastTime, long waitedAt) {
+        if (System.nanoTime() - waitedAt < CHECK_IN_NANOS) {
+            // Woken early, so something is running.
+            return false;
+        }
+        for (Thread thread : registered) {
+            if (thread.isAlive() && !wakeUps.containsKey(thread)) {
+                return false;
+            }
+        }
+        if (!quietLastTime) {
+            return true;
+        }
+
+        long next = Long.MAX_VALUE;
+        for (Long wakeUp : wakeUps.values()) {
+            next = Math.min(next, wakeUp);
+        }
+        long current;
+        while (next != Long.MAX_VALUE && (current = now.get()) < next) {
+            if (now.compareAndSet(current, next)) break;
+        }
+        return true;
+    }
+
+    private class VirtualTimeouter implements Timeouter {
+        private long endTime;
+        private boolean quiet;
+
+        public void start(long timeout) {
+            endTime = now.get() + TimeUnit.MILLISECONDS.toNanos(timeout);
+            quiet = false;
+        }
+
+        public void checkTime() throws TimeoutException {
+            if (endTime <= now.get()) throw new TimeoutException();
+        }
+
+        public long getTimeLeftIfAny() {
+            return (endTime - now.get()) / NANOS_IN_A_MILLI;
+        }
+
+        public void waitOn(Object monitor) throws InterruptedException {
+            wakeUps.put(Thread.currentThread(), endTime);
+            try {
+                long waitedAt = System.nanoTime();
+                monitor.wait(1);
+                quiet = jumpIfQuiet(quiet, waitedAt);
+            } finally {
+                wakeUps.remove(Thread.currentThread());
+            }
+        }
+
+        public void park() {
+            wakeUps.put(Thread.currentThread(), endTime);
+            try {
+                long parkedAt = System.nanoTime();
+                LockSupport.parkNanos(this, CHECK_IN_NANOS);
+                quiet = jumpIfQuiet(quiet, parkedAt);
+            } finally {
+                wakeUps.remove(Thread.currentThread());
+            }
+        }
+    }
+}